@@ -0,0 +1,60 @@
+package com.example.dyslexia.benchmarks;
+
+import com.example.dyslexia.service.PdfTextExtractor;
+import com.example.dyslexia.service.TextExtractor;
+import com.example.dyslexia.service.TextService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// TextService.extractText on generated PDF, DOCX and plain-text documents of increasing length
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    @Param({"txt", "docx", "pdf"})
+    public String format;
+
+    @Param({"1000", "20000", "200000"})
+    public int words;
+
+    private byte[] document;
+    private PdfTextExtractor pdfExtractor;
+    private TextService textService;
+
+    @Setup
+    public void setUp() throws IOException {
+        document = Fixtures.document(format, words);
+        textService = new TextService();
+        pdfExtractor = new PdfTextExtractor(0, 16, 32);
+        ReflectionTestUtils.setField(textService, "textExtractor", new TextExtractor(pdfExtractor));
+    }
+
+    @TearDown
+    public void tearDown() {
+        pdfExtractor.close();
+    }
+
+    @Benchmark
+    public String extractText() throws IOException {
+        return textService.extractText(new ByteArrayInputStream(document));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.dyslexia.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+// Deterministic documents generated at setup, so the benchmarks need no binary fixtures in git
+final class Fixtures {
+
+    private static final String[] VOCABULARY = {
+            "the", "reader", "follows", "each", "line", "slowly", "while", "letters", "seem", "to", "move",
+            "across", "page", "and", "a", "larger", "font", "with", "more", "spacing", "helps", "them",
+            "keep", "their", "place", "in", "long", "paragraphs", "of", "dense", "academic", "writing",
+    };
+    private static final int WORDS_PER_LINE = 12;
+    private static final int LINES_PER_PARAGRAPH = 6;
+    private static final int LINES_PER_PDF_PAGE = 45;
+
+    private Fixtures() {
+    }
+
+    // A setting from benchmark.properties on the classpath
+    static String setting(String name) throws IOException {
+        Properties settings = new Properties();
+        try (InputStream input = Fixtures.class.getResourceAsStream("/benchmark.properties")) {
+            if (input == null) {
+                throw new IOException("benchmark.properties is not on the classpath");
+            }
+            settings.load(input);
+        }
+        String value = settings.getProperty(name);
+        if (value == null) {
+            throw new IOException(name + " is missing from benchmark.properties");
+        }
+        return value;
+    }
+
+    static String text(int words, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder(words * 7);
+        for (String line : lines(words, random)) {
+            text.append(line).append('\n');
+        }
+        return text.toString();
+    }
+
+    static byte[] document(String format, int words) throws IOException {
+        return switch (format) {
+            case "txt" -> text(words, 42).getBytes(StandardCharsets.UTF_8);
+            case "docx" -> docx(words);
+            case "pdf" -> pdf(words);
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    private static byte[] docx(int words) throws IOException {
+        List<String> lines = lines(words, new Random(42));
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 0; i < lines.size(); i += LINES_PER_PARAGRAPH) {
+                String paragraph = String.join(" ", lines.subList(i, Math.min(lines.size(), i + LINES_PER_PARAGRAPH)));
+                document.createParagraph().createRun().setText(paragraph);
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] pdf(int words) throws IOException {
+        List<String> lines = lines(words, new Random(42));
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int first = 0; first < lines.size(); first += LINES_PER_PDF_PAGE) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 11);
+                    content.setLeading(15);
+                    content.newLineAtOffset(50, 740);
+                    for (String line : lines.subList(first, Math.min(lines.size(), first + LINES_PER_PDF_PAGE))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static List<String> lines(int words, Random random) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (line.length() > 0) {
+                line.append(' ');
+            }
+            line.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            if ((i + 1) % WORDS_PER_LINE == 0 || i == words - 1) {
+                line.append(random.nextInt(4) == 0 ? '.' : ',');
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.dyslexia.benchmarks;
+
+import com.example.dyslexia.model.Text;
+import com.example.dyslexia.model.User;
+import com.example.dyslexia.model.UserPreferences;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+// Response bodies as Spring MVC writes them: Text with its content, and reading preferences
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"1000", "100000"})
+    public int contentWords;
+
+    private ObjectMapper objectMapper;
+    private Text text;
+    private UserPreferences preferences;
+    private byte[] preferencesJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Same settings Spring Boot applies to the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark-user");
+        user.setEmail("benchmark-user@example.com");
+
+        String content = Fixtures.text(contentWords, 7);
+        text = new Text();
+        text.setId(1L);
+        text.setTitle("Benchmark text");
+        text.setSizeBytes((long) content.length());
+        text.setCreatedAt(Instant.now());
+        text.setPreview(content.substring(0, 200));
+        text.setContent(content);
+        text.setWordCount(contentWords);
+        text.setUser(user);
+
+        preferences = new UserPreferences();
+        preferences.setId(1L);
+        preferences.setUsername("benchmark-user");
+        preferences.setFont("opendyslexic");
+        preferences.setBackgroundColor("#fdf6e3");
+        preferences.setTextSize(18);
+        preferences.setLineSpacing(1.8);
+        preferences.setVersion(3L);
+        preferencesJson = objectMapper.writeValueAsBytes(preferences);
+    }
+
+    @Benchmark
+    public byte[] serializeText() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(text);
+    }
+
+    @Benchmark
+    public byte[] serializeUserPreferences() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(preferences);
+    }
+
+    @Benchmark
+    public UserPreferences deserializeUserPreferences() throws IOException {
+        return objectMapper.readValue(preferencesJson, UserPreferences.class);
+    }
+}
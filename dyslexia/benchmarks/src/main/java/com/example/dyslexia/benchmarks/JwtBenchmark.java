@@ -0,0 +1,115 @@
+package com.example.dyslexia.benchmarks;
+
+import com.example.dyslexia.security.JwtAuthenticationFilter;
+import com.example.dyslexia.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+// Token handling on the request path: the whole JwtAuthenticationFilter with and without the
+// verified-token cache, bare verification, and issuing a token at login.
+// Each filter call includes building a mock request, which is the same for both variants.
+// verifyLegacy is the filter's verification before the shared parser and the cache: key and
+// parser rebuilt and the token parsed twice per request. Run with -prof gc for bytes per call.
+// The signing key comes from benchmark.properties.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private byte[] secret;
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private String token;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws IOException {
+        String configured = Fixtures.setting("dyslexia.security.jwt-secret");
+        secret = configured.getBytes(StandardCharsets.UTF_8);
+        cachingJwtUtil = new JwtUtil(configured, 10_000, new SimpleMeterRegistry());
+        uncachedJwtUtil = new JwtUtil(configured, 0, new SimpleMeterRegistry());
+        cachedFilter = filterWith(cachingJwtUtil);
+        uncachedFilter = filterWith(uncachedJwtUtil);
+        token = cachingJwtUtil.generateToken("benchmark-user");
+        authorization = "Bearer " + token;
+    }
+
+    @Benchmark
+    public void filterCachedToken(Blackhole blackhole) throws ServletException, IOException {
+        runFilter(cachedFilter, blackhole);
+    }
+
+    @Benchmark
+    public void filterUncachedToken(Blackhole blackhole) throws ServletException, IOException {
+        runFilter(uncachedFilter, blackhole);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return cachingJwtUtil.verifiedUsername(token);
+    }
+
+    @Benchmark
+    public Object verifyUncached() {
+        return uncachedJwtUtil.verifiedUsername(token);
+    }
+
+    @Benchmark
+    public String verifyLegacy() {
+        Key key = new SecretKeySpec(secret, SignatureAlgorithm.HS256.getJcaName());
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        Key again = new SecretKeySpec(secret, SignatureAlgorithm.HS256.getJcaName());
+        return Jwts.parserBuilder().setSigningKey(again).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateToken("benchmark-user");
+    }
+
+    private void runFilter(JwtAuthenticationFilter filter, Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/texts/1");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    private static JwtAuthenticationFilter filterWith(JwtUtil jwtUtil) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        return filter;
+    }
+}
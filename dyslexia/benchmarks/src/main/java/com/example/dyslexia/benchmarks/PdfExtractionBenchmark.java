@@ -0,0 +1,76 @@
+package com.example.dyslexia.benchmarks;
+
+import com.example.dyslexia.service.PdfTextExtractor;
+import com.example.dyslexia.service.TextExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Long PDFs through Tika (the previous path), a single PDFBox pass, and parallel page ranges
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PdfExtractionBenchmark {
+
+    private static final int WORDS_PER_PAGE = 540;
+
+    @Param({"50", "500"})
+    public int pages;
+
+    private Path file;
+    private TextExtractor tika;
+    private PdfTextExtractor pdfExtractor;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("pdf-benchmark", ".pdf");
+        Files.write(file, Fixtures.document("pdf", pages * WORDS_PER_PAGE));
+        pdfExtractor = new PdfTextExtractor(0, 16, 32);
+        tika = new TextExtractor(pdfExtractor);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pdfExtractor.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int tika() throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return tika.extract(input).length();
+        }
+    }
+
+    @Benchmark
+    public int pdfBoxSequential() throws IOException {
+        return pdfExtractor.extractSequential(file).length();
+    }
+
+    @Benchmark
+    public int pdfBoxParallel() throws IOException {
+        Writer output = new StringWriter();
+        pdfExtractor.extract(file, output);
+        return output.toString().length();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.dyslexia.benchmarks;
+
+import com.example.dyslexia.DyslexiaApplication;
+import com.example.dyslexia.model.Text;
+import com.example.dyslexia.repository.TextRepository;
+import com.example.dyslexia.service.TextService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Reads through the real application context against a file-based H2 database seeded with
+// one reader's library: single text lookups, summary pages, the full list and word ranges
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final String READER = "benchmark-reader";
+
+    @Param({"100", "1000"})
+    public int texts;
+
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    private TextRepository textRepository;
+    private TextService textService;
+    private Long[] ids;
+
+    @Setup
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("repository-benchmark");
+        context = new SpringApplicationBuilder(DyslexiaApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:file:" + dataDir.resolve("bench"),
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .run();
+        textRepository = context.getBean(TextRepository.class);
+        textService = context.getBean(TextService.class);
+
+        ids = new Long[texts];
+        Path upload = dataDir.resolve("upload.txt");
+        for (int i = 0; i < texts; i++) {
+            // Distinct content per text so every row gets its own stored blob
+            Files.writeString(upload, "Text " + i + "\n" + Fixtures.text(2_000, i), StandardCharsets.UTF_8);
+            ids[i] = textService.saveText(upload, "text-" + i + ".txt", READER).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> paths = Files.walk(dataDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<Text> findById() {
+        return textRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public Object firstSummaryPage() {
+        return textService.getUserTextSummaries(READER, "newest", 20, null);
+    }
+
+    @Benchmark
+    public List<Text> findByUsername() {
+        return textRepository.findByUser_Username(READER);
+    }
+
+    @Benchmark
+    public Object wordRange() {
+        return textService.getTextRange(randomId(), 1_000, 500);
+    }
+
+    private Long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
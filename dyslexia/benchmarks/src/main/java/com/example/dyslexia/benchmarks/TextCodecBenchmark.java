@@ -0,0 +1,161 @@
+package com.example.dyslexia.benchmarks;
+
+import com.example.dyslexia.model.TextCodec;
+import com.example.dyslexia.service.PdfTextExtractor;
+import com.example.dyslexia.service.TextChunker;
+import com.example.dyslexia.service.TextExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Chunk codecs on the same corpus: encoding and decoding a whole text's chunks, and reading them
+// back from a compacted file-based H2 database. The bytes each codec leaves on disk are printed
+// once per trial. The corpus is generated unless -p corpus=<directory> names real documents
+// (PDF, DOCX, TXT, ...), which are extracted and chunked as an upload would be.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextCodecBenchmark {
+
+    private static final int CHUNK_CHARS = 16384;
+    private static final int GENERATED_WORDS = 200_000;
+
+    @Param({"PLAIN", "DEFLATE_FAST", "DEFLATE_BEST"})
+    public TextCodec codec;
+
+    @Param("generated")
+    public String corpus;
+
+    private List<String> chunks;
+    private List<byte[]> encoded;
+    private Path databaseDir;
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        chunks = "generated".equals(corpus) ? chunk(Fixtures.text(GENERATED_WORDS, 7)) : loadCorpus(Paths.get(corpus));
+        encoded = new ArrayList<>(chunks.size());
+        long encodedBytes = 0;
+        for (String chunk : chunks) {
+            byte[] data = codec.encode(chunk);
+            encoded.add(data);
+            encodedBytes += data.length;
+        }
+
+        databaseDir = Files.createTempDirectory("codec-bench-");
+        String url = "jdbc:h2:file:" + databaseDir.resolve("bench") + ";DB_CLOSE_DELAY=0";
+        try (Connection writer = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = writer.createStatement()) {
+                statement.execute("create table chunk (seq int primary key, codec int, data blob)");
+            }
+            try (PreparedStatement insert = writer.prepareStatement("insert into chunk values (?, ?, ?)")) {
+                for (int seq = 0; seq < encoded.size(); seq++) {
+                    insert.setInt(1, seq);
+                    insert.setInt(2, codec.getId());
+                    insert.setBytes(3, encoded.get(seq));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (Statement statement = writer.createStatement()) {
+                statement.execute("shutdown compact");
+            }
+        }
+        System.out.printf("# %s: %d chunks, %d encoded bytes, %d bytes in the H2 file%n", codec, chunks.size(),
+                encodedBytes, Files.size(databaseDir.resolve("bench.mv.db")));
+        connection = DriverManager.getConnection(url, "sa", "");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        FileSystemUtils.deleteRecursively(databaseDir);
+    }
+
+    @Benchmark
+    public long encode() {
+        long bytes = 0;
+        for (String chunk : chunks) {
+            bytes += codec.encode(chunk).length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long decode() {
+        long chars = 0;
+        for (byte[] data : encoded) {
+            chars += codec.decode(data).length();
+        }
+        return chars;
+    }
+
+    @Benchmark
+    public long readFromDatabase() throws SQLException {
+        long chars = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select codec, data from chunk order by seq")) {
+            while (rows.next()) {
+                chars += TextCodec.fromId(rows.getInt(1)).decode(rows.getBytes(2)).length();
+            }
+        }
+        return chars;
+    }
+
+    private static List<String> chunk(String text) throws IOException {
+        List<String> chunks = new ArrayList<>();
+        new TextChunker(CHUNK_CHARS).split(new StringReader(text),
+                (seq, firstWord, wordCount, content) -> chunks.add(content));
+        return chunks;
+    }
+
+    // Documents that cannot be extracted are skipped
+    private static List<String> loadCorpus(Path directory) throws IOException {
+        List<String> chunks = new ArrayList<>();
+        try (PdfTextExtractor pdfExtractor = new PdfTextExtractor(0, 16, 32);
+             Stream<Path> files = Files.walk(directory)) {
+            TextExtractor extractor = new TextExtractor(pdfExtractor);
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                try (InputStream input = Files.newInputStream(file)) {
+                    chunks.addAll(chunk(extractor.extract(input)));
+                } catch (IOException e) {
+                    System.out.printf("# skipping %s: %s%n", file, e.getMessage());
+                }
+            }
+        }
+        if (chunks.isEmpty()) {
+            throw new IllegalArgumentException("No extractable documents in " + directory);
+        }
+        return chunks;
+    }
+}
@@ -2,8 +2,13 @@ package com.example.dyslexia.controller;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,12 +19,17 @@ import org.springframework.web.bind.annotation.*;
 import com.example.dyslexia.model.User;
 import com.example.dyslexia.repository.UserRepository;
 import com.example.dyslexia.security.JwtUtil;
+import com.example.dyslexia.security.LoginAdmission;
+import com.example.dyslexia.security.LoginThrottledException;
+import com.example.dyslexia.service.UserIdentityService;
  
 
 @RestController
 @RequestMapping("api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private AuthenticationManager authenticationManager;
 
@@ -32,49 +42,68 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LoginAdmission loginAdmission;
+
+    @Autowired
+    private UserIdentityService userIdentityService;
+
     
 
    
     @PostMapping("/register")
     public ResponseEntity<String> register(@RequestBody User user) {
       
-        if (userRepository.existsByUsername(user.getUsername())) {
+        if (userIdentityService.existsByUsername(user.getUsername())) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Username already exists");
         }
 
-        if (userRepository.existsByEmail(user.getEmail())) {
+        if (userIdentityService.existsByEmail(user.getEmail())) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Email already exists");
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        try {
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "2").body(e.getMessage());
+        }
 
       
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent registration; the unique indexes decide
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Username or email already exists");
+        }
+        userIdentityService.invalidate(user.getUsername(), user.getEmail());
 
         return ResponseEntity.status(HttpStatus.CREATED).body("User registered successfully");
     }
 
     
     @PostMapping("/login")
-public ResponseEntity<Map<String, String>> login(@RequestBody User user) {
-  
-    System.out.println("Username: " + user.getUsername());
-    System.out.println("Password: " + user.getPassword());
-
-    try {
-        authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword())
-        );
-
-       
-        String token = jwtUtil.generateToken(user.getUsername());
-        Map<String, String> response = new HashMap<>();
-        response.put("token", token);
-        return ResponseEntity.ok(response);
-    } catch (Exception e) {
-        System.out.println("Authentication failed: " + e.getMessage());
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+    public ResponseEntity<Map<String, String>> login(@RequestBody User user) {
+        // Turn the request away before any hashing if too many checks are already in flight
+        Optional<LoginAdmission.Permit> permit = loginAdmission.tryAcquire(user.getUsername());
+        if (permit.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+
+        try (LoginAdmission.Permit held = permit.get()) {
+            authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword())
+            );
+
+            String token = jwtUtil.generateToken(user.getUsername());
+            Map<String, String> response = new HashMap<>();
+            response.put("token", token);
+            return ResponseEntity.ok(response);
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "2").build();
+        } catch (Exception e) {
+            log.info("Authentication failed for {}: {}", user.getUsername(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
     }
-}
 
 }
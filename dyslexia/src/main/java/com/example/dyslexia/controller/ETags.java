@@ -0,0 +1,29 @@
+package com.example.dyslexia.controller;
+
+// Conditional-request helpers shared by controllers that answer If-None-Match with 304
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String quoted(String value) {
+        return "\"" + value + "\"";
+    }
+
+    // If-None-Match may list several tags, possibly weak
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
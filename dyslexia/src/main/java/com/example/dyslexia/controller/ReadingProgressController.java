@@ -0,0 +1,70 @@
+package com.example.dyslexia.controller;
+
+import com.example.dyslexia.model.ProgressUpdate;
+import com.example.dyslexia.model.ReadingPosition;
+import com.example.dyslexia.service.ReadingProgressService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Reading positions of the signed-in user; clients may PUT a position every few seconds
+@RestController
+@RequestMapping("/api/progress")
+public class ReadingProgressController {
+
+    @Autowired
+    private ReadingProgressService service;
+
+    // Utility method to get the authenticated user's username
+    private String getAuthenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    // GET /api/progress
+    @GetMapping
+    public ResponseEntity<List<ReadingPosition>> getPositions() {
+        String username = getAuthenticatedUsername();
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(service.getPositions(username));
+    }
+
+    // GET /api/progress/{textId}
+    @GetMapping("/{textId}")
+    public ResponseEntity<ReadingPosition> getPosition(@PathVariable Long textId) {
+        String username = getAuthenticatedUsername();
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return service.getPosition(username, textId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // PUT /api/progress/{textId}
+    @PutMapping("/{textId}")
+    public ResponseEntity<ReadingPosition> updatePosition(@PathVariable Long textId,
+                                                          @RequestBody ProgressUpdate update) {
+        String username = getAuthenticatedUsername();
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return service.update(username, textId, update)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
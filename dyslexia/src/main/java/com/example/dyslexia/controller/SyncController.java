@@ -0,0 +1,33 @@
+package com.example.dyslexia.controller;
+
+import com.example.dyslexia.model.SyncChanges;
+import com.example.dyslexia.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+// Incremental sync of the signed-in user's texts and preferences
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    // GET /api/sync?since=<cursor>; without a cursor the client is told to reload and given one
+    @GetMapping
+    public ResponseEntity<SyncChanges> sync(@RequestParam(required = false) String since) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(syncService.changesSince(authentication.getName(), since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,46 +1,221 @@
 package com.example.dyslexia.controller;
 
+import com.example.dyslexia.model.BatchItemResult;
+import com.example.dyslexia.model.IngestionJob;
+import com.example.dyslexia.model.SearchHit;
 import com.example.dyslexia.model.Text;
+import com.example.dyslexia.model.TextRendition;
+import com.example.dyslexia.service.BatchUploadService;
+import com.example.dyslexia.service.DocumentTooLargeException;
+import com.example.dyslexia.service.IngestionService;
+import com.example.dyslexia.service.RsvpStreamService;
+import com.example.dyslexia.service.TextRenditionService;
 import com.example.dyslexia.service.TextService;
+import com.example.dyslexia.service.UnsupportedDocumentTypeException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/texts")
 public class TextController {
 
+    private static final int MAX_RANGE_WORDS = 5000;
+    private static final int MAX_SUMMARY_PAGE = 200;
+    private static final int MAX_RSVP_GROUP = 10;
+    // Private: texts are per user. Immutable: a text's body never changes under the same URL
+    private static final CacheControl TEXT_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePrivate()
+            .immutable();
+
     @Autowired
     private TextService textService;
 
-    // Upload and extract text from a document
+    @Autowired
+    private IngestionService ingestionService;
+
+    @Autowired
+    private BatchUploadService batchUploadService;
+
+    @Autowired
+    private RsvpStreamService rsvpStreamService;
+
+    @Autowired
+    private TextRenditionService textRenditionService;
+
+    // Queue a document for extraction; poll the returned job for the resulting text id
     @PostMapping("/upload")
     public ResponseEntity<?> uploadText(@RequestParam("file") MultipartFile file, @RequestParam("username") String username) {
         try {
-            Text savedText = textService.saveText(file, username);
-            return ResponseEntity.ok(savedText);
+            IngestionJob job = ingestionService.submit(file, username);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/texts/jobs/" + job.getId()))
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body("Upload queue is full, please retry shortly");
+        } catch (UnsupportedDocumentTypeException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(e.getMessage());
+        } catch (DocumentTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
         } catch (IOException e) {
             return ResponseEntity.badRequest().body("File processing failed: " + e.getMessage());
         }
     }
 
+    // Import several documents and/or ZIP archives of documents in one request.
+    // Runs to completion and returns one result per document, in upload order.
+    @PostMapping("/upload/batch")
+    public ResponseEntity<?> uploadBatch(@RequestParam("files") List<MultipartFile> files, @RequestParam("username") String username) {
+        try {
+            List<BatchItemResult> results = batchUploadService.importBatch(files, username);
+            return ResponseEntity.ok(results);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body("Too many batch uploads in progress, please retry shortly");
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Batch upload failed: " + e.getMessage());
+        }
+    }
+
+    // Get the status of an upload job
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestionJob> getJob(@PathVariable String jobId) {
+        return ingestionService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // Get all texts for a user
     @GetMapping("/user/{username}")
     public ResponseEntity<List<Text>> getUserTexts(@PathVariable String username) {
         return ResponseEntity.ok(textService.getUserTexts(username));
     }
 
-    // Get a specific text by ID
+    // List a user's texts without their content, one keyset page at a time
+    @GetMapping("/user/{username}/summaries")
+    public ResponseEntity<?> getUserTextSummaries(@PathVariable String username,
+                                                  @RequestParam(defaultValue = "newest") String sort,
+                                                  @RequestParam(defaultValue = "50") int limit,
+                                                  @RequestParam(required = false) String cursor) {
+        if (limit < 1 || limit > MAX_SUMMARY_PAGE) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_SUMMARY_PAGE);
+        }
+        try {
+            return ResponseEntity.ok(textService.getUserTextSummaries(username, sort, limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid sort or cursor");
+        }
+    }
+
+    // Search the authenticated user's texts
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchHit>> searchTexts(@RequestParam("q") String query) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(textService.searchTexts(authentication.getName(), query));
+    }
+
+    // Get a specific text by ID. Texts never change, so the body is the stored, pre-compressed
+    // rendition: sent as-is when the client accepts gzip, with a strong ETag and immutable caching.
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTextById(@PathVariable Long id) {
-        Optional<Text> text = textService.getTextById(id);
-        return text.map(ResponseEntity::ok)
-                   .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> getTextById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // A revalidation only needs the hash, not the stored body
+        if (ifNoneMatch != null) {
+            Optional<String> hash = textRenditionService.getContentHash(id);
+            if (hash.isPresent() && matchesEither(ifNoneMatch, hash.get())) {
+                return textResponse(hash.get(), gzip).status(HttpStatus.NOT_MODIFIED).build();
+            }
+        }
+
+        Optional<TextRendition> found = textRenditionService.get(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        TextRendition rendition = found.get();
+        if (matchesEither(ifNoneMatch, rendition.getContentHash())) {
+            return textResponse(rendition.getContentHash(), gzip).status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        ResponseEntity.BodyBuilder response = textResponse(rendition.getContentHash(), gzip);
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(rendition.getGzipLength())
+                    .body(new InputStreamResource(textRenditionService.gzip(rendition)));
+        }
+        return response.contentLength(rendition.getIdentityLength())
+                .body(new InputStreamResource(textRenditionService.identity(rendition)));
+    }
+
+    // Get a window of words from a text without loading the whole document
+    @GetMapping("/{id}/range")
+    public ResponseEntity<?> getTextRange(@PathVariable Long id,
+                                          @RequestParam(defaultValue = "0") int fromWord,
+                                          @RequestParam(defaultValue = "500") int count) {
+        if (fromWord < 0 || count < 1 || count > MAX_RANGE_WORDS) {
+            return ResponseEntity.badRequest()
+                    .body("fromWord must be >= 0 and count between 1 and " + MAX_RANGE_WORDS);
+        }
+        return textService.getTextRange(id, fromWord, count)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Get syllable breaks, word flags and readability scores for a window of words
+    @GetMapping("/{id}/annotations")
+    public ResponseEntity<?> getTextAnnotations(@PathVariable Long id,
+                                                @RequestParam(defaultValue = "0") int fromWord,
+                                                @RequestParam(defaultValue = "500") int count) {
+        if (fromWord < 0 || count < 1 || count > MAX_RANGE_WORDS) {
+            return ResponseEntity.badRequest()
+                    .body("fromWord must be >= 0 and count between 1 and " + MAX_RANGE_WORDS);
+        }
+        return textService.getTextAnnotations(id, fromWord, count)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Stream paced word groups for speed reading as server-sent events
+    @GetMapping(value = "/{id}/rsvp", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamWords(@PathVariable Long id,
+                                                  @RequestParam(defaultValue = "0") int fromWord,
+                                                  @RequestParam(defaultValue = "1") int groupSize,
+                                                  @RequestParam(defaultValue = "250") int wpm) {
+        if (fromWord < 0 || groupSize < 1 || groupSize > MAX_RSVP_GROUP || wpm < 50 || wpm > 2000) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return rsvpStreamService.stream(id, fromWord, groupSize, wpm)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
     }
 
     // Delete a text by ID
@@ -50,4 +225,48 @@ public class TextController {
         return deleted ? ResponseEntity.ok("Text deleted successfully")
                        : ResponseEntity.notFound().build();
     }
+
+    // Both encodings carry the same JSON; each gets its own strong tag
+    private static ResponseEntity.BodyBuilder textResponse(String contentHash, boolean gzip) {
+        return ResponseEntity.ok()
+                .eTag(ETags.quoted(gzip ? contentHash + "-gzip" : contentHash))
+                .cacheControl(TEXT_CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    // A tag of either encoding validates, since the JSON is the same
+    private static boolean matchesEither(String ifNoneMatch, String contentHash) {
+        return ETags.matches(ifNoneMatch, ETags.quoted(contentHash))
+                || ETags.matches(ifNoneMatch, ETags.quoted(contentHash + "-gzip"));
+    }
+
+    // Whether gzip is acceptable: listed with a non-zero q, or covered by "*" when not listed
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim().toLowerCase();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
 }
@@ -0,0 +1,177 @@
+package com.example.dyslexia.controller;
+
+import com.example.dyslexia.model.IngestionJob;
+import com.example.dyslexia.model.UploadSession;
+import com.example.dyslexia.service.DocumentTooLargeException;
+import com.example.dyslexia.service.ResumableUploadService;
+import com.example.dyslexia.service.UnsupportedDocumentTypeException;
+import com.example.dyslexia.service.UploadOffsetMismatchException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Resumable uploads for large documents:
+//   POST   /api/uploads?fileName=&length=   open a session (201, Location)
+//   PUT    /api/uploads/{id}                append bytes, Content-Range: bytes <first>-<last>/<length>
+//   HEAD   /api/uploads/{id}                received offset in Upload-Offset (also GET, as JSON)
+//   POST   /api/uploads/{id}/complete       queue extraction (202, Location of the ingestion job)
+//   DELETE /api/uploads/{id}                abandon the upload
+@RestController
+@RequestMapping("/api/uploads")
+public class UploadController {
+
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+    static final String UPLOAD_LENGTH = "Upload-Length";
+    static final String UPLOAD_EXPIRES = "Upload-Expires";
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+    @Autowired
+    private ResumableUploadService uploadService;
+
+    // Utility method to get the authenticated user's username
+    private String getAuthenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createUpload(@RequestParam String fileName, @RequestParam long length) {
+        String username = getAuthenticatedUsername();
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            UploadSession session = uploadService.create(username, fileName, length);
+            return withOffset(ResponseEntity.created(URI.create("/api/uploads/" + session.getId())), session)
+                    .body(session);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (DocumentTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Too many open uploads");
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body("Could not create upload: " + e.getMessage());
+        }
+    }
+
+    // The body is read as a stream, never buffered; an interrupted PUT keeps what arrived
+    @PutMapping("/{id}")
+    public ResponseEntity<?> appendRange(@PathVariable String id,
+                                         @RequestHeader(HttpHeaders.CONTENT_RANGE) String contentRange,
+                                         HttpServletRequest request) {
+        String username = getAuthenticatedUsername();
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Matcher range = CONTENT_RANGE.matcher(contentRange.trim());
+        if (!range.matches()) {
+            return ResponseEntity.badRequest().body("Content-Range must be bytes <first>-<last>/<length>");
+        }
+        try {
+            long start = Long.parseLong(range.group(1));
+            long end = Long.parseLong(range.group(2)) + 1;
+            Optional<UploadSession> session = uploadService.get(username, id);
+            if (session.isPresent() && !range.group(3).equals("*")
+                    && Long.parseLong(range.group(3)) != session.get().getLength()) {
+                return ResponseEntity.badRequest().body("Content-Range length differs from the upload's length");
+            }
+            return uploadService.append(username, id, start, end, request.getInputStream())
+                    .<ResponseEntity<?>>map(updated -> withOffset(ResponseEntity.ok(), updated).body(updated))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (UploadOffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET, String.valueOf(e.getOffset()))
+                    .body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            // Usually the client went away; the bytes received so far are kept
+            return ResponseEntity.badRequest().body("Upload interrupted: " + e.getMessage());
+        }
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getOffset(@PathVariable String id) {
+        String username = getAuthenticatedUsername();
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return uploadService.get(username, id)
+                .map(session -> withOffset(ResponseEntity.ok(), session).<Void>build())
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSession> getUpload(@PathVariable String id) {
+        String username = getAuthenticatedUsername();
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return uploadService.get(username, id)
+                .map(session -> withOffset(ResponseEntity.ok(), session).body(session))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String id) {
+        String username = getAuthenticatedUsername();
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            Optional<IngestionJob> job = uploadService.complete(username, id);
+            if (job.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/texts/jobs/" + job.get().getId()))
+                    .body(job.get());
+        } catch (UploadOffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET, String.valueOf(e.getOffset()))
+                    .body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body("Upload queue is full, please retry shortly");
+        } catch (UnsupportedDocumentTypeException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("File processing failed: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelUpload(@PathVariable String id) throws IOException {
+        String username = getAuthenticatedUsername();
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return uploadService.cancel(username, id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private <B extends ResponseEntity.HeadersBuilder<B>> B withOffset(B response, UploadSession session) {
+        return response.header(UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                .header(UPLOAD_LENGTH, String.valueOf(session.getLength()))
+                .header(UPLOAD_EXPIRES, uploadService.expiresAt(session).toString());
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.dyslexia.controller;
 
 import com.example.dyslexia.model.UserPreferences;
+import com.example.dyslexia.service.ContentHashes;
 import com.example.dyslexia.service.UserPreferencesService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -17,6 +22,9 @@ public class UserPreferencesController {
     @Autowired
     private UserPreferencesService service;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // Utility method to get the authenticated user's username
     private String getAuthenticatedUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -28,7 +36,9 @@ public class UserPreferencesController {
 
     // GET /api/preferences/{username}
     @GetMapping("/{username}")
-    public ResponseEntity<UserPreferences> getPreferences(@PathVariable String username) {
+    public ResponseEntity<UserPreferences> getPreferences(
+            @PathVariable String username,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         String authenticatedUsername = getAuthenticatedUsername();
 
         if (authenticatedUsername == null || !authenticatedUsername.equals(username)) {
@@ -39,7 +49,13 @@ public class UserPreferencesController {
         if (preferences == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(preferences);
+
+        // Unchanged since the client's copy: answer without a body
+        String etag = etagOf(preferences);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(preferences);
     }
 
     // POST /api/preferences/{username}
@@ -55,6 +71,18 @@ public class UserPreferencesController {
 
         preferences.setUsername(username);
         UserPreferences savedPreferences = service.saveUserPreferences(preferences);
-        return ResponseEntity.ok(savedPreferences);
+        return ResponseEntity.ok().eTag(etagOf(savedPreferences)).body(savedPreferences);
+    }
+
+    // Hash of the body itself. Versions are counted in memory and can repeat after a restart
+    // for a save that never reached the database, so they cannot identify a body; the hash
+    // matches only the exact body the client holds. The body names its user, so a tag cached
+    // by one account on a shared device never validates another account's preferences.
+    private String etagOf(UserPreferences preferences) {
+        try {
+            return ETags.quoted(ContentHashes.sha256(objectMapper.writeValueAsBytes(preferences)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,18 @@
+package com.example.dyslexia.model;
+
+// Outcome of one document in a batch upload; ZIP entries are reported by their path in the archive
+public record BatchItemResult(String fileName, Status status, Long textId, String error) {
+
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    public static BatchItemResult created(String fileName, Long textId) {
+        return new BatchItemResult(fileName, Status.CREATED, textId, null);
+    }
+
+    public static BatchItemResult failed(String fileName, String error) {
+        return new BatchItemResult(fileName, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.dyslexia.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// One change to a user's library or preferences, for incremental sync. Ids grow in commit
+// order, so a client that has seen every entry up to some id only needs the ones after it.
+// Only the latest entry per (user, kind, entity) is kept.
+@Entity
+@Table(name = "change_log",
+        indexes = {
+                @Index(name = "idx_change_log_user_id", columnList = "username, id"),
+                @Index(name = "idx_change_log_entity", columnList = "username, kind, entity_id")
+        })
+public class ChangeLogEntry {
+
+    public enum Kind {
+        TEXT,
+        PREFERENCES
+    }
+
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Kind kind;
+
+    // Text id, or the preferences row id
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Operation operation;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
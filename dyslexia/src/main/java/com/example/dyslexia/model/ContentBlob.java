@@ -0,0 +1,106 @@
+package com.example.dyslexia.model;
+
+import jakarta.persistence.*;
+
+// Extracted content shared by every Text with the same normalized text, reference counted
+@Entity
+@Table(name = "content_blob")
+public class ContentBlob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 of the text with whitespace runs collapsed
+    @Column(unique = true, nullable = false, length = 64)
+    private String textHash;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    private Integer chunkCount;
+
+    private Integer wordCount;
+
+    @Column(length = 300)
+    private String preview;
+
+    // Counts behind the readability scores; null for content stored before they were gathered
+    private Integer sentenceCount;
+
+    private Integer syllableCount;
+
+    private Integer polysyllableCount;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTextHash() {
+        return textHash;
+    }
+
+    public void setTextHash(String textHash) {
+        this.textHash = textHash;
+    }
+
+    public Integer getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Integer refCount) {
+        this.refCount = refCount;
+    }
+
+    public Integer getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(Integer chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public void setPreview(String preview) {
+        this.preview = preview;
+    }
+
+    public Integer getSentenceCount() {
+        return sentenceCount;
+    }
+
+    public void setSentenceCount(Integer sentenceCount) {
+        this.sentenceCount = sentenceCount;
+    }
+
+    public Integer getSyllableCount() {
+        return syllableCount;
+    }
+
+    public void setSyllableCount(Integer syllableCount) {
+        this.syllableCount = syllableCount;
+    }
+
+    public Integer getPolysyllableCount() {
+        return polysyllableCount;
+    }
+
+    public void setPolysyllableCount(Integer polysyllableCount) {
+        this.polysyllableCount = polysyllableCount;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.dyslexia.model;
+
+import java.time.Instant;
+
+// In-memory record of an upload moving through the ingestion pipeline
+public class IngestionJob {
+
+    public enum Status {
+        QUEUED,
+        EXTRACTING,
+        DONE,
+        FAILED
+    }
+
+    private final String id;
+    private final String username;
+    private final String fileName;
+    private final Instant createdAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Long textId;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    public IngestionJob(String id, String username, String fileName) {
+        this.id = id;
+        this.username = username;
+        this.fileName = fileName;
+    }
+
+    public void markExtracting() {
+        this.status = Status.EXTRACTING;
+    }
+
+    public void markDone(Long textId) {
+        this.textId = textId;
+        this.finishedAt = Instant.now();
+        this.status = Status.DONE;
+    }
+
+    public void markFailed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getTextId() {
+        return textId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+}
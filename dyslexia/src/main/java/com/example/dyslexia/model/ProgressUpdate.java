@@ -0,0 +1,8 @@
+package com.example.dyslexia.model;
+
+import java.time.Instant;
+
+// A progress ping from a client. sessionId groups pings of one reading session so time between
+// them counts as reading time; clientTime orders updates from several devices (server time if absent).
+public record ProgressUpdate(Integer wordIndex, String mode, Integer wpm, String sessionId, Instant clientTime) {
+}
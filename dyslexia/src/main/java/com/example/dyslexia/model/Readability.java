@@ -0,0 +1,23 @@
+package com.example.dyslexia.model;
+
+// Whole-text readability from word, sentence and syllable counts gathered at ingestion.
+// Flesch reading ease (higher is easier), Flesch-Kincaid and SMOG grade levels.
+public record Readability(int words, int sentences, int syllables, int polysyllables,
+                          double fleschReadingEase, double fleschKincaidGrade, double smogGrade) {
+
+    public static Readability of(int words, int sentences, int syllables, int polysyllables) {
+        if (words == 0 || sentences == 0) {
+            return new Readability(words, sentences, syllables, polysyllables, 0, 0, 0);
+        }
+        double wordsPerSentence = (double) words / sentences;
+        double syllablesPerWord = (double) syllables / words;
+        return new Readability(words, sentences, syllables, polysyllables,
+                round(206.835 - 1.015 * wordsPerSentence - 84.6 * syllablesPerWord),
+                round(0.39 * wordsPerSentence + 11.8 * syllablesPerWord - 15.59),
+                round(1.043 * Math.sqrt(polysyllables * 30.0 / sentences) + 3.1291));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
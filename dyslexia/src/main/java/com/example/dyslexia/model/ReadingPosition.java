@@ -0,0 +1,13 @@
+package com.example.dyslexia.model;
+
+import java.time.Instant;
+
+// A user's position in one text as served to clients; immutable so it can be shared from memory
+public record ReadingPosition(Long textId, int wordIndex, String mode, Integer wpm, Instant updatedAt,
+                              long readingSeconds) {
+
+    public static ReadingPosition of(ReadingProgress row) {
+        return new ReadingPosition(row.getTextId(), row.getWordIndex(), row.getMode(), row.getWpm(),
+                row.getUpdatedAt(), row.getReadingSeconds());
+    }
+}
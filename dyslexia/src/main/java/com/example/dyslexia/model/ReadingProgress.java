@@ -0,0 +1,107 @@
+package com.example.dyslexia.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Last known reading position of a user in a text; written in batches by ReadingProgressService
+@Entity
+@Table(name = "reading_progress",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"username", "text_id"}),
+        indexes = {
+                @Index(name = "idx_reading_progress_username", columnList = "username"),
+                @Index(name = "idx_reading_progress_text", columnList = "text_id")
+        })
+public class ReadingProgress {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "text_id", nullable = false)
+    private Long textId;
+
+    @Column(nullable = false)
+    private Integer wordIndex;
+
+    // Reading mode the position was reported from, e.g. "read", "highlight" or "rsvp"
+    @Column(length = 16)
+    private String mode;
+
+    private Integer wpm;
+
+    // Time of the update that produced this position; later updates win
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    // Time spent reading the text across sessions
+    @Column(nullable = false)
+    private Long readingSeconds;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Long getTextId() {
+        return textId;
+    }
+
+    public void setTextId(Long textId) {
+        this.textId = textId;
+    }
+
+    public Integer getWordIndex() {
+        return wordIndex;
+    }
+
+    public void setWordIndex(Integer wordIndex) {
+        this.wordIndex = wordIndex;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public Integer getWpm() {
+        return wpm;
+    }
+
+    public void setWpm(Integer wpm) {
+        this.wpm = wpm;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getReadingSeconds() {
+        return readingSeconds;
+    }
+
+    public void setReadingSeconds(Long readingSeconds) {
+        this.readingSeconds = readingSeconds;
+    }
+}
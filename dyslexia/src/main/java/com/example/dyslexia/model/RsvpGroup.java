@@ -0,0 +1,30 @@
+package com.example.dyslexia.model;
+
+import java.util.List;
+
+// A group of words flashed together during speed reading, with how long to show them
+public class RsvpGroup {
+
+    private final int index;
+    private final List<String> words;
+    private final long durationMs;
+
+    public RsvpGroup(int index, List<String> words, long durationMs) {
+        this.index = index;
+        this.words = words;
+        this.durationMs = durationMs;
+    }
+
+    // Getters
+    public int getIndex() {
+        return index;
+    }
+
+    public List<String> getWords() {
+        return words;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+}
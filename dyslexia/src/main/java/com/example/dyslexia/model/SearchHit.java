@@ -0,0 +1,28 @@
+package com.example.dyslexia.model;
+
+// A text matching a search, with word offsets of the matched terms for highlighting
+public class SearchHit {
+
+    private final Long textId;
+    private final int matchCount;
+    private final int[] wordOffsets;
+
+    public SearchHit(Long textId, int matchCount, int[] wordOffsets) {
+        this.textId = textId;
+        this.matchCount = matchCount;
+        this.wordOffsets = wordOffsets;
+    }
+
+    // Getters
+    public Long getTextId() {
+        return textId;
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    public int[] getWordOffsets() {
+        return wordOffsets;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.dyslexia.model;
+
+import java.util.List;
+
+// Changes to a user's library and preferences since a sync cursor. With reset set the cursor
+// could not be continued: the client reloads everything and then syncs from the new cursor.
+// hasMore means more changes are waiting; the client asks again with the new cursor.
+public class SyncChanges {
+
+    private final String cursor;
+    private final boolean reset;
+    private final boolean hasMore;
+    private final List<TextSummary> texts;
+    private final List<Long> deletedTextIds;
+    private final UserPreferences preferences;
+
+    public SyncChanges(String cursor, boolean reset, boolean hasMore, List<TextSummary> texts,
+                       List<Long> deletedTextIds, UserPreferences preferences) {
+        this.cursor = cursor;
+        this.reset = reset;
+        this.hasMore = hasMore;
+        this.texts = texts;
+        this.deletedTextIds = deletedTextIds;
+        this.preferences = preferences;
+    }
+
+    public static SyncChanges reset(String cursor) {
+        return new SyncChanges(cursor, true, false, List.of(), List.of(), null);
+    }
+
+    // Getters
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    // Texts created or changed since the cursor
+    public List<TextSummary> getTexts() {
+        return texts;
+    }
+
+    public List<Long> getDeletedTextIds() {
+        return deletedTextIds;
+    }
+
+    // Current preferences if they changed since the cursor, otherwise null
+    public UserPreferences getPreferences() {
+        return preferences;
+    }
+}
@@ -1,16 +1,52 @@
 package com.example.dyslexia.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.Instant;
+
+// Deleted texts are tombstoned and hidden from every query until StorageMaintenance purges them
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_text_raw_hash", columnList = "raw_hash"),
+        @Index(name = "idx_text_deleted_at", columnList = "deleted_at"),
+        @Index(name = "idx_text_user_id", columnList = "user_id, id")
+})
+@SQLRestriction("deleted_at is null")
 public class Text {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    private String title;
+
+    // Size of the uploaded file in bytes
+    private Long sizeBytes;
+
+    private Instant createdAt;
+
+    // Start of the text with whitespace collapsed, for listings
+    @Column(length = 300)
+    private String preview;
+
+    // Legacy single-column content; null once the text points at a ContentBlob
     @Lob
     private String content;
 
+    @Column(name = "blob_id")
+    private Long blobId;
+
+    // SHA-256 of the uploaded file, used to skip extraction of repeat uploads
+    @Column(name = "raw_hash", length = 64)
+    private String rawHash;
+
+    private Integer wordCount;
+
+    // Set when the text is deleted; the row and its content go at the next purge
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
     // Update to associate directly with User
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
@@ -25,6 +61,38 @@ public class Text {
         this.id = id;
     }
 
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public void setPreview(String preview) {
+        this.preview = preview;
+    }
+
     public String getContent() {
         return content;
     }
@@ -33,6 +101,41 @@ public class Text {
         this.content = content;
     }
 
+    @JsonIgnore
+    public Long getBlobId() {
+        return blobId;
+    }
+
+    public void setBlobId(Long blobId) {
+        this.blobId = blobId;
+    }
+
+    @JsonIgnore
+    public String getRawHash() {
+        return rawHash;
+    }
+
+    public void setRawHash(String rawHash) {
+        this.rawHash = rawHash;
+    }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    @JsonIgnore
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,61 @@
+package com.example.dyslexia.model;
+
+import java.util.List;
+
+// Reading-aid annotations for a window of words, in column form: words.get(i) has the
+// syllable breaks syllableBreaks.get(i) (offsets into the word) and the WordAnnotations flags
+// flags[i]. Everything is precomputed, so clients only look values up.
+public class TextAnnotations {
+
+    private final Long textId;
+    private final int fromWord;
+    private final int totalWords;
+    private final Readability readability;
+    private final List<String> words;
+    private final List<int[]> syllableBreaks;
+    private final int[] flags;
+
+    public TextAnnotations(Long textId, int fromWord, int totalWords, Readability readability,
+                           List<String> words, List<int[]> syllableBreaks, int[] flags) {
+        this.textId = textId;
+        this.fromWord = fromWord;
+        this.totalWords = totalWords;
+        this.readability = readability;
+        this.words = words;
+        this.syllableBreaks = syllableBreaks;
+        this.flags = flags;
+    }
+
+    // Getters
+    public Long getTextId() {
+        return textId;
+    }
+
+    public int getFromWord() {
+        return fromWord;
+    }
+
+    public int getWordCount() {
+        return words.size();
+    }
+
+    public int getTotalWords() {
+        return totalWords;
+    }
+
+    public Readability getReadability() {
+        return readability;
+    }
+
+    public List<String> getWords() {
+        return words;
+    }
+
+    public List<int[]> getSyllableBreaks() {
+        return syllableBreaks;
+    }
+
+    public int[] getFlags() {
+        return flags;
+    }
+}
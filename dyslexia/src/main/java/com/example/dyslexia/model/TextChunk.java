@@ -0,0 +1,153 @@
+package com.example.dyslexia.model;
+
+import jakarta.persistence.*;
+
+// Fixed-size piece of a content blob, ordered by seq
+@Entity
+@Table(name = "text_chunk",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"blob_id", "seq"}),
+        indexes = @Index(name = "idx_text_chunk_first_word", columnList = "blob_id, first_word"))
+public class TextChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "blob_id", nullable = false)
+    private Long blobId;
+
+    @Column(nullable = false)
+    private Integer seq;
+
+    // Index of the first word starting in this chunk, counted across the whole blob
+    @Column(name = "first_word", nullable = false)
+    private Integer firstWord;
+
+    @Column(nullable = false)
+    private Integer wordCount;
+
+    // Written by chunks stored before content was encoded; null otherwise
+    @Lob
+    private String content;
+
+    // Content encoded with the codec whose id is stored alongside
+    @Lob
+    private byte[] data;
+
+    private Integer codec;
+
+    @Transient
+    private String decoded;
+
+    // Packed word layout and display-duration hints, see WordTokens
+    @Lob
+    private byte[] wordOffsets;
+
+    @Lob
+    private byte[] wordDurations;
+
+    // Packed syllable breaks and reading-aid flags per word, see WordAnnotations
+    @Lob
+    private byte[] wordSyllables;
+
+    @Lob
+    private byte[] wordFlags;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBlobId() {
+        return blobId;
+    }
+
+    public void setBlobId(Long blobId) {
+        this.blobId = blobId;
+    }
+
+    public Integer getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Integer seq) {
+        this.seq = seq;
+    }
+
+    public Integer getFirstWord() {
+        return firstWord;
+    }
+
+    public void setFirstWord(Integer firstWord) {
+        this.firstWord = firstWord;
+    }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public String getContent() {
+        if (content != null) {
+            return content;
+        }
+        if (decoded == null && data != null) {
+            decoded = TextCodec.fromId(codec).decode(data);
+        }
+        return decoded;
+    }
+
+    // Store the content encoded with the given codec
+    public void setContent(String content, TextCodec codec) {
+        this.content = null;
+        this.data = codec.encode(content);
+        this.codec = codec.getId();
+        this.decoded = content;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public Integer getCodec() {
+        return codec;
+    }
+
+    public byte[] getWordOffsets() {
+        return wordOffsets;
+    }
+
+    public void setWordOffsets(byte[] wordOffsets) {
+        this.wordOffsets = wordOffsets;
+    }
+
+    public byte[] getWordDurations() {
+        return wordDurations;
+    }
+
+    public void setWordDurations(byte[] wordDurations) {
+        this.wordDurations = wordDurations;
+    }
+
+    public byte[] getWordSyllables() {
+        return wordSyllables;
+    }
+
+    public void setWordSyllables(byte[] wordSyllables) {
+        this.wordSyllables = wordSyllables;
+    }
+
+    public byte[] getWordFlags() {
+        return wordFlags;
+    }
+
+    public void setWordFlags(byte[] wordFlags) {
+        this.wordFlags = wordFlags;
+    }
+}
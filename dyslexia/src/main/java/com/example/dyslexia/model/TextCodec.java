@@ -0,0 +1,86 @@
+package com.example.dyslexia.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Encodings for stored chunk content. The id is persisted with every chunk, so codecs
+// may be added but never renumbered; rows keep reading with whatever codec wrote them.
+public enum TextCodec {
+
+    // UTF-8, no compression
+    PLAIN(0, Deflater.NO_COMPRESSION),
+
+    // Fastest deflate level; the default for freshly uploaded, frequently read text
+    DEFLATE_FAST(1, Deflater.BEST_SPEED),
+
+    // Densest deflate level; slower to write, for text that is rarely rewritten
+    DEFLATE_BEST(2, Deflater.BEST_COMPRESSION);
+
+    private final int id;
+    private final int level;
+
+    TextCodec(int id, int level) {
+        this.id = id;
+        this.level = level;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public static TextCodec fromId(int id) {
+        for (TextCodec codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown text codec id " + id);
+    }
+
+    public byte[] encode(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (this == PLAIN) {
+            return utf8;
+        }
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public String decode(byte[] data) {
+        if (this == PLAIN) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated " + name() + " chunk data");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt " + name() + " chunk data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
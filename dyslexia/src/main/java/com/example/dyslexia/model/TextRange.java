@@ -0,0 +1,40 @@
+package com.example.dyslexia.model;
+
+// A window of consecutive words from a stored text, with the original spacing kept
+public class TextRange {
+
+    private final Long textId;
+    private final int fromWord;
+    private final int wordCount;
+    private final int totalWords;
+    private final String content;
+
+    public TextRange(Long textId, int fromWord, int wordCount, int totalWords, String content) {
+        this.textId = textId;
+        this.fromWord = fromWord;
+        this.wordCount = wordCount;
+        this.totalWords = totalWords;
+        this.content = content;
+    }
+
+    // Getters
+    public Long getTextId() {
+        return textId;
+    }
+
+    public int getFromWord() {
+        return fromWord;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getTotalWords() {
+        return totalWords;
+    }
+
+    public String getContent() {
+        return content;
+    }
+}
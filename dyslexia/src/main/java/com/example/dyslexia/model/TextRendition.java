@@ -0,0 +1,96 @@
+package com.example.dyslexia.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// The JSON body of GET /api/texts/{id}, rendered and gzip-compressed once. A text never changes
+// after it is saved, so the stored body is served as-is until the text is deleted. The gzip bytes
+// are split into parts: the first is kept here, the rest in text_rendition_part rows that are
+// read one at a time, so a large text is never held in memory whole.
+@Entity
+@Table(name = "text_rendition")
+public class TextRendition {
+    @Id
+    @Column(name = "text_id")
+    private Long textId;
+
+    // Shares the text's id; the foreign key keeps a rendition from outliving its text
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "text_id")
+    private Text text;
+
+    // SHA-256 of the uncompressed JSON, the strong entity tag of the text
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    // Length of the uncompressed JSON in bytes
+    @Column(nullable = false)
+    private Long identityLength;
+
+    // Length of the whole gzip body in bytes, head and parts
+    @Column(nullable = false)
+    private Long gzipLength;
+
+    // First part of the gzip body; all of it for most texts
+    @Lob
+    @Column(nullable = false)
+    private byte[] head;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Getters and Setters
+    public Long getTextId() {
+        return textId;
+    }
+
+    public void setTextId(Long textId) {
+        this.textId = textId;
+    }
+
+    public void setText(Text text) {
+        this.text = text;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getIdentityLength() {
+        return identityLength;
+    }
+
+    public void setIdentityLength(Long identityLength) {
+        this.identityLength = identityLength;
+    }
+
+    public Long getGzipLength() {
+        return gzipLength;
+    }
+
+    public void setGzipLength(Long gzipLength) {
+        this.gzipLength = gzipLength;
+    }
+
+    public byte[] getHead() {
+        return head;
+    }
+
+    public void setHead(byte[] head) {
+        this.head = head;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.dyslexia.model;
+
+import java.time.Instant;
+
+// Projection of Text used for listings; never touches the content columns
+public interface TextSummary {
+    Long getId();
+
+    String getTitle();
+
+    Long getSizeBytes();
+
+    Integer getWordCount();
+
+    Instant getCreatedAt();
+
+    String getPreview();
+}
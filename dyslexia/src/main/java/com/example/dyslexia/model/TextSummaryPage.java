@@ -0,0 +1,24 @@
+package com.example.dyslexia.model;
+
+import java.util.List;
+
+// One page of a keyset-paginated text listing; nextCursor is null on the last page
+public class TextSummaryPage {
+
+    private final List<TextSummary> items;
+    private final String nextCursor;
+
+    public TextSummaryPage(List<TextSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<TextSummary> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
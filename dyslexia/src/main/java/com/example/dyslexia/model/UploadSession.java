@@ -0,0 +1,70 @@
+package com.example.dyslexia.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+// In-memory state of a resumable upload whose bytes are being appended to a spool file
+public class UploadSession {
+
+    private final String id;
+    private final String username;
+    private final String fileName;
+    private final long length;
+    private final Instant createdAt = Instant.now();
+
+    private volatile long offset;
+    private volatile Instant lastActivityAt = createdAt;
+
+    public UploadSession(String id, String username, String fileName, long length) {
+        this.id = id;
+        this.username = username;
+        this.fileName = fileName;
+        this.length = length;
+    }
+
+    public void advance(long offset) {
+        this.offset = offset;
+        this.lastActivityAt = Instant.now();
+    }
+
+    public void touch() {
+        this.lastActivityAt = Instant.now();
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public String getUsername() {
+        return username;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    // Total size declared when the session was created
+    public long getLength() {
+        return length;
+    }
+
+    // Bytes received so far
+    public long getOffset() {
+        return offset;
+    }
+
+    public boolean isComplete() {
+        return offset == length;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getLastActivityAt() {
+        return lastActivityAt;
+    }
+}
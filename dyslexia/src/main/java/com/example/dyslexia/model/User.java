@@ -1,9 +1,18 @@
 package com.example.dyslexia.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+// Kept in the second-level cache, so loading a text's owner rarely reaches the database
 @Entity
-@Table(name = "app_user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "app_user", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_app_user_username", columnNames = "username"),
+        @UniqueConstraint(name = "ux_app_user_email", columnNames = "email")
+})
 public class User {
 
     @Id
@@ -11,6 +20,8 @@ public class User {
     private Long id;
     private String username;
     private String email;
+    // Accepted on register/login but never serialized back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     // Getters and setters
@@ -0,0 +1,9 @@
+package com.example.dyslexia.model;
+
+// The parts of a user needed to authenticate and to own texts, cached instead of the entity
+public record UserIdentity(Long id, String username, String email, String passwordHash) {
+
+    public static UserIdentity of(User user) {
+        return new UserIdentity(user.getId(), user.getUsername(), user.getEmail(), user.getPassword());
+    }
+}
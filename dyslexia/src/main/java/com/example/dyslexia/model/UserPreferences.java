@@ -1,8 +1,12 @@
 package com.example.dyslexia.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class UserPreferences {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,6 +22,9 @@ public class UserPreferences {
     private Integer textSize;
     private Double lineSpacing;
 
+    // Bumped on every save; served as the ETag
+    private Long version;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -66,4 +73,12 @@ public class UserPreferences {
     public void setLineSpacing(Double lineSpacing) {
         this.lineSpacing = lineSpacing;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
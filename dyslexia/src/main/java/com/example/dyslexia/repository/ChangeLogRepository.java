@@ -0,0 +1,19 @@
+package com.example.dyslexia.repository;
+
+import com.example.dyslexia.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // Callers pass only a page size in Pageable
+    List<ChangeLogEntry> findByUsernameAndIdGreaterThanOrderById(String username, long afterId, Pageable page);
+
+    @Query("select coalesce(max(e.id), 0) from ChangeLogEntry e")
+    long findLastId();
+}
@@ -0,0 +1,22 @@
+package com.example.dyslexia.repository;
+
+import com.example.dyslexia.model.ContentBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ContentBlobRepository extends JpaRepository<ContentBlob, Long> {
+
+    // Row-locking lookups used while the reference count changes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from ContentBlob b where b.id = :id")
+    Optional<ContentBlob> findForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from ContentBlob b where b.textHash = :textHash")
+    Optional<ContentBlob> findByTextHashForUpdate(@Param("textHash") String textHash);
+}
@@ -0,0 +1,21 @@
+package com.example.dyslexia.repository;
+
+import com.example.dyslexia.model.ReadingProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReadingProgressRepository extends JpaRepository<ReadingProgress, Long> {
+
+    Optional<ReadingProgress> findByUsernameAndTextId(String username, Long textId);
+
+    // Rows of deleted texts stay until the text is purged and are skipped here
+    @Query("select p from ReadingProgress p where p.username = :username"
+            + " and exists (select t.id from Text t where t.id = p.textId and t.deletedAt is null)")
+    List<ReadingProgress> findLiveByUsername(@Param("username") String username);
+}
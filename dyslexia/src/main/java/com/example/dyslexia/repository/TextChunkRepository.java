@@ -0,0 +1,30 @@
+package com.example.dyslexia.repository;
+
+import com.example.dyslexia.model.TextChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TextChunkRepository extends JpaRepository<TextChunk, Long> {
+    List<TextChunk> findByBlobIdOrderBySeq(Long blobId);
+
+    List<TextChunk> findByBlobIdAndSeqBetweenOrderBySeq(Long blobId, int fromSeq, int toSeq);
+
+    // Chunk in which the given word starts
+    Optional<TextChunk> findFirstByBlobIdAndFirstWordLessThanEqualOrderBySeqDesc(Long blobId, int word);
+
+    // Chunks holding the start of any word in [fromWord, toWord)
+    @Query("select c from TextChunk c where c.blobId = :blobId"
+            + " and c.firstWord < :toWord and c.firstWord + c.wordCount > :fromWord order by c.seq")
+    List<TextChunk> findCoveringWords(@Param("blobId") Long blobId,
+                                      @Param("fromWord") int fromWord,
+                                      @Param("toWord") int toWord);
+
+    @Modifying
+    @Query("delete from TextChunk c where c.blobId = :blobId")
+    int deleteByBlobId(@Param("blobId") Long blobId);
+}
@@ -0,0 +1,20 @@
+package com.example.dyslexia.repository;
+
+import com.example.dyslexia.model.TextRendition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TextRenditionRepository extends JpaRepository<TextRendition, Long> {
+
+    // Both lookups skip renditions of deleted texts, which stay until the text is purged
+    @Query("select r from TextRendition r join r.text t where r.textId = :textId and t.deletedAt is null")
+    Optional<TextRendition> findLiveByTextId(@Param("textId") Long textId);
+
+    @Query("select r.contentHash from TextRendition r join r.text t where r.textId = :textId and t.deletedAt is null")
+    Optional<String> findContentHashByTextId(@Param("textId") Long textId);
+}
@@ -1,9 +1,70 @@
 package com.example.dyslexia.repository;
 
 import com.example.dyslexia.model.Text;
+import com.example.dyslexia.model.TextSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TextRepository extends JpaRepository<Text, Long> {
     List<Text> findByUser_Username(String username);
+
+    Optional<Text> findFirstByRawHashAndBlobIdNotNull(String rawHash);
+
+    @Query("select t.user.username from Text t where t.id = :id")
+    Optional<String> findOwnerUsernameById(@Param("id") Long id);
+
+    @Query("select t.blobId from Text t where t.id = :id")
+    Optional<Long> findBlobIdById(@Param("id") Long id);
+
+    interface TextOwner {
+        Long getId();
+
+        String getUsername();
+
+        Long getBlobId();
+    }
+
+    @Query("select t.id as id, t.user.username as username, t.blobId as blobId"
+            + " from Text t where t.id > :afterId order by t.id")
+    List<TextOwner> findOwnersAfter(@Param("afterId") long afterId, Pageable page);
+
+    // Keyset-paginated summaries; callers pass only a page size in Pageable
+    @Query("select t.id as id, t.title as title, t.sizeBytes as sizeBytes, t.wordCount as wordCount,"
+            + " t.createdAt as createdAt, t.preview as preview"
+            + " from Text t where t.user.username = :username and t.id < :afterId"
+            + " order by t.id desc")
+    List<TextSummary> findSummariesNewestFirst(@Param("username") String username,
+                                               @Param("afterId") long afterId,
+                                               Pageable page);
+
+    @Query("select t.id as id, t.title as title, t.sizeBytes as sizeBytes, t.wordCount as wordCount,"
+            + " t.createdAt as createdAt, t.preview as preview"
+            + " from Text t where t.user.username = :username and t.id > :afterId"
+            + " order by t.id asc")
+    List<TextSummary> findSummariesOldestFirst(@Param("username") String username,
+                                               @Param("afterId") long afterId,
+                                               Pageable page);
+
+    @Query("select t.id as id, t.title as title, t.sizeBytes as sizeBytes, t.wordCount as wordCount,"
+            + " t.createdAt as createdAt, t.preview as preview"
+            + " from Text t where t.user.username = :username"
+            + " and (coalesce(t.title, '') > :afterTitle"
+            + " or (coalesce(t.title, '') = :afterTitle and t.id > :afterId))"
+            + " order by coalesce(t.title, ''), t.id")
+    List<TextSummary> findSummariesByTitle(@Param("username") String username,
+                                           @Param("afterTitle") String afterTitle,
+                                           @Param("afterId") long afterId,
+                                           Pageable page);
+
+    // Summaries of specific texts of a user, for sync; deleted or foreign ids are skipped
+    @Query("select t.id as id, t.title as title, t.sizeBytes as sizeBytes, t.wordCount as wordCount,"
+            + " t.createdAt as createdAt, t.preview as preview"
+            + " from Text t where t.user.username = :username and t.id in :ids")
+    List<TextSummary> findSummariesByIds(@Param("username") String username, @Param("ids") Collection<Long> ids);
 }
@@ -1,11 +1,9 @@
 package com.example.dyslexia.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.Key;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,7 +18,10 @@ import java.io.IOException;
 @Configuration
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private String secretKey = "your256bitlongsecretkeyyour256bitlong"; // Use the same secret key you used for signing the JWT.
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, jakarta.servlet.http.HttpServletResponse response, FilterChain filterChain)
@@ -28,14 +29,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getJwtFromRequest(request);
 
-        if (token != null && validateToken(token)) {
-            String username = getUsernameFromToken(token);
+        // One verification per request, skipped entirely for tokens seen before
+        Optional<String> verified = token != null ? jwtUtil.verifiedUsername(token) : Optional.empty();
+        if (verified.isPresent()) {
+            String username = verified.get();
 
             // Create the authentication object
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    username, null, new ArrayList<>()
+                    username, null, Collections.emptyList()
             );
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            authentication.setDetails(detailsSource.buildDetails(request));
 
             // Set authentication in the security context
             SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -51,24 +54,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-
-    private boolean validateToken(String token) {
-        try {
-            Key key = new SecretKeySpec(secretKey.getBytes(), "HmacSHA256"); // Using HmacSHA256 for signing the JWT
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private String getUsernameFromToken(String token) {
-        Key key = new SecretKeySpec(secretKey.getBytes(), "HmacSHA256");
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
-    }
 }
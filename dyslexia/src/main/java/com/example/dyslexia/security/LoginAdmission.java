@@ -0,0 +1,70 @@
+package com.example.dyslexia.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+// Fail-fast limits on concurrent credential checks, globally and per username, so a login storm
+// or a client hammering one account is turned away before it reaches the hashing pool
+@Component
+public class LoginAdmission {
+
+    private final Semaphore global;
+    private final int perUsername;
+    private final ConcurrentHashMap<String, Integer> inFlight = new ConcurrentHashMap<>();
+    private final Counter globalRejections;
+    private final Counter usernameRejections;
+
+    public LoginAdmission(@Value("${dyslexia.auth.max-concurrent-logins:32}") int maxConcurrent,
+                          @Value("${dyslexia.auth.max-concurrent-logins-per-user:2}") int perUsername,
+                          MeterRegistry meterRegistry) {
+        this.global = new Semaphore(maxConcurrent);
+        this.perUsername = perUsername;
+        this.globalRejections = Counter.builder("dyslexia.auth.admission.rejected").tag("limit", "global").register(meterRegistry);
+        this.usernameRejections = Counter.builder("dyslexia.auth.admission.rejected").tag("limit", "username").register(meterRegistry);
+    }
+
+    // A permit to check credentials for this username, or empty if a limit is reached
+    public Optional<Permit> tryAcquire(String username) {
+        String key = username == null ? "" : username;
+        if (inFlight.merge(key, 1, Integer::sum) > perUsername) {
+            release(key);
+            usernameRejections.increment();
+            return Optional.empty();
+        }
+        if (!global.tryAcquire()) {
+            release(key);
+            globalRejections.increment();
+            return Optional.empty();
+        }
+        return Optional.of(new Permit(key));
+    }
+
+    private void release(String key) {
+        inFlight.computeIfPresent(key, (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    public final class Permit implements AutoCloseable {
+
+        private final String key;
+        private boolean released;
+
+        private Permit(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                global.release();
+                release(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.dyslexia.security;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+// Credential check refused for capacity reasons rather than bad credentials. Being an internal
+// service exception, the provider manager rethrows it at once instead of trying another provider.
+public class LoginThrottledException extends InternalAuthenticationServiceException {
+
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
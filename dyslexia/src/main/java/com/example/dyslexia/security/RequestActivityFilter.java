@@ -0,0 +1,46 @@
+package com.example.dyslexia.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Tracks whether the API is being used, so background maintenance can wait for quiet periods.
+// Metric scrapes and health checks do not count as activity.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestActivityFilter extends OncePerRequestFilter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long lastRequestNanos = System.nanoTime();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        inFlight.incrementAndGet();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            lastRequestNanos = System.nanoTime();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    // No request in progress and none finished within the given time
+    public boolean isQuietFor(Duration period) {
+        return inFlight.get() == 0 && System.nanoTime() - lastRequestNanos >= period.toNanos();
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.dyslexia.security;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,7 +37,9 @@ public class SecurityConfig {
             .authorizeHttpRequests(authorizeRequests ->
                     authorizeRequests
                             .requestMatchers("/api/auth/**").permitAll()
-                            .requestMatchers("/api/preferences/**","/api/texts/**").authenticated()
+                            // Metrics scrape and health checks come from infrastructure without a token
+                            .requestMatchers("/actuator/prometheus", "/actuator/health").permitAll()
+                            .requestMatchers("/api/preferences/**","/api/texts/**","/api/progress/**","/api/sync","/api/uploads/**").authenticated()
                             .anyRequest().authenticated())
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class); // Add the filter before the default authentication filter.
 
@@ -46,8 +51,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("*")); 
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS", "HEAD"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", CorrelationIdFilter.HEADER));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", CorrelationIdFilter.HEADER));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
@@ -58,8 +63,12 @@ public class SecurityConfig {
         return configuration.getAuthenticationManager();
     }
 
+    // BCrypt runs on its own bounded pool instead of the servlet threads
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${dyslexia.auth.hash-threads:2}") int threads,
+                                           @Value("${dyslexia.auth.hash-queue-capacity:64}") int queueCapacity,
+                                           @Value("${dyslexia.auth.hash-queue-timeout:PT2S}") Duration queueTimeout,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, queueTimeout, meterRegistry);
     }
 }
@@ -0,0 +1,57 @@
+package com.example.dyslexia.security;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Bounded map from a bearer token to the subject it was verified for. Entries die at the token's exp,
+// so a hit never outlives the signature check it stands in for.
+class VerifiedTokenCache {
+
+    private record Entry(String subject, long expiresAtMillis) {
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    Optional<String> get(String token, long nowMillis) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAtMillis() <= nowMillis) {
+            entries.remove(token, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.subject());
+    }
+
+    void put(String token, String subject, long expiresAtMillis, long nowMillis) {
+        if (maxEntries <= 0 || expiresAtMillis <= nowMillis) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(nowMillis);
+        }
+        entries.put(token, new Entry(subject, expiresAtMillis));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Drop expired tokens first; if that is not enough, drop arbitrary live ones down to 3/4 capacity
+    private void evict(long nowMillis) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= nowMillis);
+        int target = maxEntries - maxEntries / 4;
+        Iterator<String> tokens = entries.keySet().iterator();
+        while (entries.size() >= target && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+        }
+    }
+}
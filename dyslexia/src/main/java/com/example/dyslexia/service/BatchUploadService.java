@@ -0,0 +1,358 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.BatchItemResult;
+import com.example.dyslexia.security.CorrelationIdFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Imports many documents in one request: plain files and ZIP archives, whose entries are
+// streamed to the spool one at a time. Documents are extracted on a small shared pool with a
+// bounded number in flight per batch, then all Text rows are written with one batch insert.
+@Service
+public class BatchUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchUploadService.class);
+
+    private static final int COPY_BUFFER_BYTES = 8192;
+
+    @Autowired
+    private TextService textService;
+
+    @Autowired
+    private TextRenditionService textRenditionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dyslexia.ingestion.batch-parallelism:4}")
+    private int parallelism;
+
+    @Value("${dyslexia.ingestion.batch-max-concurrent:2}")
+    private int maxConcurrentBatches;
+
+    @Value("${dyslexia.ingestion.batch-max-documents:500}")
+    private int maxDocuments;
+
+    @Value("${dyslexia.ingestion.max-document-size:10MB}")
+    private DataSize maxDocumentSize;
+
+    // Documents spooled for one batch, ZIP entries counted inflated
+    @Value("${dyslexia.ingestion.batch-max-size:200MB}")
+    private DataSize maxBatchSize;
+
+    @Value("${dyslexia.ingestion.spool-dir:${java.io.tmpdir}/dyslexia-spool}")
+    private String spoolDir;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore runningBatches;
+    private Path spoolPath;
+
+    @PostConstruct
+    void start() throws IOException {
+        spoolPath = Files.createDirectories(Paths.get(spoolDir));
+        runningBatches = new Semaphore(maxConcurrentBatches);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Each running batch has at most window() tasks queued or running, so the queue never fills
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConcurrentBatches * window()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-extract-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.gauge("dyslexia.ingestion.batch.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // Import the files, expanding ZIP archives; one result per document, in upload order.
+    // Throws RejectedExecutionException when too many batches are already running.
+    public List<BatchItemResult> importBatch(List<MultipartFile> files, String username) throws IOException {
+        if (!runningBatches.tryAcquire()) {
+            throw new RejectedExecutionException("Too many batch uploads in progress");
+        }
+        Path batchDir = Files.createTempDirectory(spoolPath, "batch-");
+        Batch batch = new Batch(batchDir);
+        try {
+            for (MultipartFile file : files) {
+                if (isZip(file)) {
+                    batch.addArchive(file);
+                } else if (file.getSize() > maxDocumentSize.toBytes()) {
+                    batch.fail(file.getOriginalFilename(), new DocumentTooLargeException(maxDocumentSize).getMessage());
+                } else if (batch.hasRoom(file.getOriginalFilename(), file.getSize())) {
+                    Path spooled = batch.nextSpoolFile();
+                    file.transferTo(spooled);
+                    batch.submit(file.getOriginalFilename(), spooled);
+                }
+            }
+            return batch.finish(username);
+        } finally {
+            batch.abandon();
+            FileSystemUtils.deleteRecursively(batchDir);
+            runningBatches.release();
+        }
+    }
+
+    private int window() {
+        return parallelism * 2;
+    }
+
+    private static boolean isZip(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        return (name != null && name.toLowerCase(Locale.ROOT).endsWith(".zip"))
+                || "application/zip".equals(contentType) || "application/x-zip-compressed".equals(contentType);
+    }
+
+    // Archive metadata and hidden files that are not documents
+    static boolean isDocumentEntry(ZipEntry entry) {
+        String name = entry.getName();
+        String baseName = name.substring(name.lastIndexOf('/') + 1);
+        return !entry.isDirectory() && !name.startsWith("__MACOSX/") && !baseName.isEmpty() && !baseName.startsWith(".");
+    }
+
+    // One slot per document in upload order: either a running extraction or an immediate failure
+    private record Slot(String fileName, Future<TextService.PendingText> extraction, String error) {
+    }
+
+    private class Batch {
+        private final Path dir;
+        private final List<Slot> slots = new ArrayList<>();
+        private final Semaphore inFlight = new Semaphore(window());
+        private final String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        private int documents;
+        private long spooledBytes;
+        private boolean handedOver;
+        // Extractions that finished with stored content, and whether the batch was abandoned;
+        // both guarded by the batch, so content is released exactly once whenever it finishes
+        private final List<TextService.PendingText> stored = new ArrayList<>();
+        private boolean abandoned;
+
+        Batch(Path dir) {
+            this.dir = dir;
+        }
+
+        Path nextSpoolFile() {
+            return dir.resolve(slots.size() + ".upload");
+        }
+
+        // False, with a failed slot, once the batch holds as many documents as allowed or the
+        // document would take it past its size limit
+        boolean hasRoom(String fileName, long size) {
+            if (documents >= maxDocuments) {
+                fail(fileName, "Batch is limited to " + maxDocuments + " documents");
+                return false;
+            }
+            if (size > remainingBytes()) {
+                fail(fileName, "Batch is limited to " + maxBatchSize);
+                return false;
+            }
+            return true;
+        }
+
+        long remainingBytes() {
+            return maxBatchSize.toBytes() - spooledBytes;
+        }
+
+        void fail(String fileName, String error) {
+            slots.add(new Slot(fileName, null, error));
+        }
+
+        // Waits while the batch already has window() documents spooled and not yet extracted.
+        // Archive entries are titled by their base name; results keep the full path.
+        void submit(String fileName, Path spooled) throws IOException {
+            String documentName = fileName.substring(fileName.lastIndexOf('/') + 1);
+            spooledBytes += Files.size(spooled);
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while queueing batch upload", e);
+            }
+            documents++;
+            try {
+                slots.add(new Slot(fileName, executor.submit(() -> {
+                    MDC.put(CorrelationIdFilter.MDC_KEY, correlationId);
+                    try {
+                        return keep(textService.storeContent(spooled, documentName));
+                    } finally {
+                        Files.deleteIfExists(spooled);
+                        inFlight.release();
+                        MDC.remove(CorrelationIdFilter.MDC_KEY);
+                    }
+                }), null));
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+
+        // Entries are read straight from the upload stream; only the current entry is on disk
+        void addArchive(MultipartFile archive) throws IOException {
+            String archiveName = archive.getOriginalFilename();
+            try (ZipInputStream zip = new ZipInputStream(archive.getInputStream())) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    if (!isDocumentEntry(entry)) {
+                        continue;
+                    }
+                    String fileName = archiveName + "/" + entry.getName();
+                    if (!hasRoom(fileName, 0)) {
+                        return;
+                    }
+                    Path spooled = nextSpoolFile();
+                    boolean batchFull = remainingBytes() < maxDocumentSize.toBytes();
+                    if (!copyLimited(zip, spooled, Math.min(maxDocumentSize.toBytes(), remainingBytes()))) {
+                        // Skipping the rest of an oversized entry would still inflate all of it
+                        Files.deleteIfExists(spooled);
+                        fail(fileName, (batchFull ? "Batch is limited to " + maxBatchSize : "Document exceeds " + maxDocumentSize)
+                                + ", rest of the archive skipped");
+                        return;
+                    }
+                    submit(fileName, spooled);
+                }
+            } catch (IOException e) {
+                log.info("Could not read archive {}: {}", archiveName, e.getMessage());
+                fail(archiveName, "Could not read archive: " + e.getMessage());
+            }
+        }
+
+        // Copy at most limit bytes; false if the entry is larger
+        private boolean copyLimited(InputStream input, Path target, long limit) throws IOException {
+            long copied = 0;
+            byte[] buffer = new byte[COPY_BUFFER_BYTES];
+            try (OutputStream output = Files.newOutputStream(target)) {
+                int read;
+                while ((read = input.read(buffer)) > 0) {
+                    copied += read;
+                    if (copied > limit) {
+                        return false;
+                    }
+                    output.write(buffer, 0, read);
+                }
+            }
+            return true;
+        }
+
+        List<BatchItemResult> finish(String username) throws IOException {
+            List<TextService.PendingText> pending = new ArrayList<>();
+            List<Integer> pendingSlots = new ArrayList<>();
+            BatchItemResult[] results = new BatchItemResult[slots.size()];
+            for (int i = 0; i < slots.size(); i++) {
+                Slot slot = slots.get(i);
+                if (slot.extraction() == null) {
+                    results[i] = BatchItemResult.failed(slot.fileName(), slot.error());
+                    continue;
+                }
+                try {
+                    pending.add(slot.extraction().get());
+                    pendingSlots.add(i);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while extracting batch upload", e);
+                } catch (ExecutionException | CancellationException e) {
+                    Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                    log.info("Batch document {} failed: {}", slot.fileName(), cause.toString());
+                    results[i] = BatchItemResult.failed(slot.fileName(), cause.getMessage());
+                }
+            }
+
+            // From here saveBatch owns the content references, also when it fails
+            synchronized (this) {
+                handedOver = true;
+            }
+            try {
+                List<Long> ids = textService.saveBatch(username, pending);
+                for (int i = 0; i < ids.size(); i++) {
+                    int slot = pendingSlots.get(i);
+                    results[slot] = BatchItemResult.created(slots.get(slot).fileName(), ids.get(i));
+                }
+                textRenditionService.prepareInBackground(ids);
+            } catch (RuntimeException e) {
+                log.warn("Saving a batch of {} texts failed", pending.size(), e);
+                for (int slot : pendingSlots) {
+                    results[slot] = BatchItemResult.failed(slots.get(slot).fileName(), "Could not save text");
+                }
+            }
+
+            record(results);
+            return List.of(results);
+        }
+
+        // Records finished content for abandon(); content finished after the batch was
+        // abandoned is released at once, also when its task had already been cancelled
+        private TextService.PendingText keep(TextService.PendingText pending) {
+            synchronized (this) {
+                if (!abandoned) {
+                    stored.add(pending);
+                    return pending;
+                }
+            }
+            textService.discard(pending);
+            throw new CancellationException("Batch upload abandoned");
+        }
+
+        // When the request ends before its texts are saved, stop queued extractions and drop the
+        // content references of those that finished. Running extractions cannot be stopped and
+        // drop their own references when they finish.
+        void abandon() {
+            List<TextService.PendingText> finished;
+            synchronized (this) {
+                if (handedOver || abandoned) {
+                    return;
+                }
+                abandoned = true;
+                finished = new ArrayList<>(stored);
+                stored.clear();
+            }
+            for (Slot slot : slots) {
+                if (slot.extraction() != null) {
+                    slot.extraction().cancel(false);
+                }
+            }
+            finished.forEach(textService::discard);
+        }
+
+        private void record(BatchItemResult[] results) {
+            for (BatchItemResult result : results) {
+                meterRegistry.counter("dyslexia.ingestion.batch.documents",
+                        "outcome", result.status().name().toLowerCase(Locale.ROOT)).increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.ChangeLogEntry;
+import com.example.dyslexia.repository.ChangeLogRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-user log of library and preference changes behind GET /api/sync.
+//
+// Appends are serialized and commit in their own transaction, so entry ids become visible in
+// increasing order and a reader never skips an id that commits later. Callers append after
+// their own change has committed. Each append replaces the previous entry for the same entity,
+// so the log holds one entry per live text or preferences row plus recent delete tombstones;
+// tombstones older than the retention are compacted away.
+@Service
+public class ChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLog.class);
+
+    private static final String DELETE_SUPERSEDED =
+            "delete from change_log where username = ? and kind = ? and entity_id = ?";
+    private static final String INSERT_ENTRY = "insert into change_log (username, kind, entity_id, operation, changed_at)"
+            + " values (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private ChangeLogRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dyslexia.sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Value("${dyslexia.sync.compaction-interval:PT1H}")
+    private Duration compactionInterval;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private TransactionTemplate appendTransaction;
+    private ScheduledExecutorService compactor;
+    // Cursors issued before a failed append may have missed it and must start over
+    private volatile Instant lostChangesBefore = Instant.EPOCH;
+
+    @PostConstruct
+    void start() {
+        appendTransaction = new TransactionTemplate(transactionManager);
+        appendTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = compactionInterval.toMillis();
+        compactor.scheduleWithFixedDelay(this::compact, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        compactor.shutdownNow();
+    }
+
+    public void record(String username, ChangeLogEntry.Kind kind, Long entityId, ChangeLogEntry.Operation operation) {
+        recordAll(username, kind, List.of(entityId), operation);
+    }
+
+    // Never throws: the change itself has already committed, so a failed append only makes
+    // clients with older cursors resynchronize from scratch
+    public void recordAll(String username, ChangeLogEntry.Kind kind, List<Long> entityIds,
+                          ChangeLogEntry.Operation operation) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            Instant now = Instant.now();
+            appendTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(DELETE_SUPERSEDED, entityIds, entityIds.size(), (ps, id) -> {
+                    ps.setString(1, username);
+                    ps.setString(2, kind.name());
+                    ps.setLong(3, id);
+                });
+                jdbcTemplate.batchUpdate(INSERT_ENTRY, entityIds, entityIds.size(), (ps, id) -> {
+                    ps.setString(1, username);
+                    ps.setString(2, kind.name());
+                    ps.setLong(3, id);
+                    ps.setString(4, operation.name());
+                    ps.setObject(5, now.atOffset(ZoneOffset.UTC));
+                });
+            });
+        } catch (RuntimeException e) {
+            lostChangesBefore = Instant.now();
+            log.warn("Could not record {} {} change(s) for {}", entityIds.size(), kind, username, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Entries of a user after the given id, oldest first
+    public List<ChangeLogEntry> read(String username, long afterId, int limit) {
+        return repository.findByUsernameAndIdGreaterThanOrderById(username, afterId, PageRequest.of(0, limit));
+    }
+
+    public long lastId() {
+        return repository.findLastId();
+    }
+
+    // Whether a cursor issued at this time can still be continued: no tombstone it may not
+    // have seen has been compacted, and no append failed since
+    public boolean canContinueFrom(Instant issuedAt) {
+        return issuedAt.isAfter(Instant.now().minus(tombstoneRetention)) && issuedAt.isAfter(lostChangesBefore);
+    }
+
+    void compact() {
+        try {
+            int removed = jdbcTemplate.update("delete from change_log where operation = ? and changed_at < ?",
+                    ChangeLogEntry.Operation.DELETE.name(),
+                    Instant.now().minus(tombstoneRetention).atOffset(ZoneOffset.UTC));
+            meterRegistry.counter("dyslexia.sync.tombstones.compacted").increment(removed);
+        } catch (RuntimeException e) {
+            log.warn("Change log compaction failed, retrying next run", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.dyslexia.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// SHA-256 hashes of uploaded files, extracted text and small serialized values
+public final class ContentHashes {
+
+    private ContentHashes() {
+    }
+
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream input = Files.newInputStream(file)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String sha256(byte[] data) {
+        return HexFormat.of().formatHex(newDigest().digest(data));
+    }
+
+    public static String normalizedTextHash(String text) {
+        NormalizedTextDigest digest = new NormalizedTextDigest(Writer.nullWriter());
+        digest.update(text.toCharArray(), 0, text.length());
+        return digest.hex();
+    }
+
+    // Passes text through to a delegate while hashing it with whitespace runs collapsed to
+    // one space and leading/trailing whitespace dropped, so layout-only differences match
+    public static class NormalizedTextDigest extends Writer {
+
+        private final Writer delegate;
+        private final MessageDigest digest = newDigest();
+        private final byte[] scratch = new byte[8192];
+        private int scratchSize;
+        private boolean started;
+        private boolean pendingSpace;
+
+        public NormalizedTextDigest(Writer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            delegate.write(cbuf, off, len);
+            update(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        public String hex() {
+            digest.update(scratch, 0, scratchSize);
+            scratchSize = 0;
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private void update(char[] cbuf, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                char c = cbuf[i];
+                if (Character.isWhitespace(c)) {
+                    pendingSpace = started;
+                    continue;
+                }
+                if (scratchSize > scratch.length - 4) {
+                    digest.update(scratch, 0, scratchSize);
+                    scratchSize = 0;
+                }
+                if (pendingSpace) {
+                    scratch[scratchSize++] = 0;
+                    scratch[scratchSize++] = ' ';
+                    pendingSpace = false;
+                }
+                scratch[scratchSize++] = (byte) (c >> 8);
+                scratch[scratchSize++] = (byte) c;
+                started = true;
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
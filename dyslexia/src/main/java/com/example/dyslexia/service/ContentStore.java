@@ -0,0 +1,224 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.ContentBlob;
+import com.example.dyslexia.model.Readability;
+import com.example.dyslexia.model.TextChunk;
+import com.example.dyslexia.model.TextCodec;
+import com.example.dyslexia.repository.ContentBlobRepository;
+import com.example.dyslexia.repository.TextChunkRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Chunked, reference-counted storage of extracted text shared between Text rows
+@Service
+public class ContentStore {
+
+    private static final int PREVIEW_CHARS = 200;
+    private static final int READ_BATCH = 16;
+
+    @Autowired
+    private ContentBlobRepository contentBlobRepository;
+
+    @Autowired
+    private TextChunkRepository textChunkRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${dyslexia.storage.chunk-chars:16384}")
+    private int chunkChars;
+
+    @Value("${dyslexia.storage.codec:DEFLATE_FAST}")
+    private TextCodec codec;
+
+    // Take a reference on the blob with this normalized-text hash, if one exists
+    @Transactional
+    public Optional<ContentBlob> acquireByTextHash(String textHash) {
+        return contentBlobRepository.findByTextHashForUpdate(textHash).map(this::addReference);
+    }
+
+    // Take another reference on a blob that is still live
+    @Transactional
+    public Optional<ContentBlob> acquire(Long blobId) {
+        return contentBlobRepository.findForUpdate(blobId)
+                .filter(blob -> blob.getRefCount() > 0)
+                .map(this::addReference);
+    }
+
+    // Store new content with a single reference. Chunks are written one at a time and
+    // detached, so the reader can be arbitrarily long; search postings are collected on the way.
+    @Transactional
+    public ContentBlob create(Reader reader, String textHash, TextSearchIndex.Document document) {
+        ContentBlob blob = new ContentBlob();
+        blob.setTextHash(textHash);
+        blob.setRefCount(1);
+        contentBlobRepository.save(blob);
+
+        WordAnnotations.Totals totals = new WordAnnotations.Totals();
+        try {
+            TextChunker.Result result = new TextChunker(chunkChars).split(reader, (seq, firstWord, wordCount, content) -> {
+                TextChunk chunk = new TextChunk();
+                chunk.setBlobId(blob.getId());
+                chunk.setSeq(seq);
+                chunk.setFirstWord(firstWord);
+                chunk.setWordCount(wordCount);
+                chunk.setContent(content, codec);
+                WordTokens tokens = WordTokens.tokenize(content);
+                chunk.setWordOffsets(tokens.packOffsets());
+                chunk.setWordDurations(tokens.durations());
+                WordAnnotations annotations = WordAnnotations.annotate(content, tokens);
+                chunk.setWordSyllables(annotations.packSyllables());
+                chunk.setWordFlags(annotations.flags());
+                totals.add(annotations);
+                if (seq == 0) {
+                    blob.setPreview(preview(content));
+                }
+                document.addChunk(firstWord, content);
+                // Detach each stored chunk so the persistence context stays small
+                entityManager.detach(textChunkRepository.save(chunk));
+            });
+            blob.setChunkCount(result.chunkCount());
+            blob.setWordCount(result.wordCount());
+            setReadabilityCounts(blob, totals);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return blob;
+    }
+
+    // Drop a reference; the blob and its chunks are deleted with the last one
+    @Transactional
+    public void release(Long blobId) {
+        contentBlobRepository.findForUpdate(blobId).ifPresent(blob -> {
+            blob.setRefCount(blob.getRefCount() - 1);
+            if (blob.getRefCount() <= 0) {
+                textChunkRepository.deleteByBlobId(blobId);
+                contentBlobRepository.delete(blob);
+            }
+        });
+    }
+
+    // Readability of stored content; counts missing on older content are gathered once and kept
+    @Transactional
+    public Optional<Readability> readability(Long blobId) {
+        return contentBlobRepository.findById(blobId).map(blob -> {
+            if (blob.getSyllableCount() == null) {
+                WordAnnotations.Totals totals = new WordAnnotations.Totals();
+                forEachChunk(blobId, chunk -> totals.add(WordAnnotations.annotate(chunk.getContent(),
+                        WordTokens.tokenize(chunk.getContent()))));
+                setReadabilityCounts(blob, totals);
+            }
+            return Readability.of(blob.getWordCount(), blob.getSentenceCount(),
+                    blob.getSyllableCount(), blob.getPolysyllableCount());
+        });
+    }
+
+    public String readAll(Long blobId) {
+        StringBuilder content = new StringBuilder();
+        forEachChunk(blobId, chunk -> content.append(chunk.getContent()));
+        return content.toString();
+    }
+
+    // Visit chunks in order, loading a few at a time
+    public void forEachChunk(Long blobId, Consumer<TextChunk> action) {
+        List<TextChunk> batch;
+        int seq = 0;
+        do {
+            batch = textChunkRepository.findByBlobIdAndSeqBetweenOrderBySeq(blobId, seq, seq + READ_BATCH - 1);
+            batch.forEach(action);
+            seq += READ_BATCH;
+        } while (batch.size() == READ_BATCH);
+    }
+
+    // The whole content as one character stream that loads a few chunks at a time, for
+    // writing a text out without building it in memory
+    public Reader reader(Long blobId) {
+        return new ChunkReader(blobId);
+    }
+
+    public List<TextChunk> chunksCoveringWords(Long blobId, int fromWord, int toWord) {
+        return textChunkRepository.findCoveringWords(blobId, fromWord, toWord);
+    }
+
+    private class ChunkReader extends Reader {
+        private final Long blobId;
+        private final Deque<TextChunk> loaded = new ArrayDeque<>();
+        private int nextSeq;
+        private boolean lastBatch;
+        private String current = "";
+        private int position;
+
+        ChunkReader(Long blobId) {
+            this.blobId = blobId;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            while (position == current.length()) {
+                if (loaded.isEmpty()) {
+                    if (lastBatch) {
+                        return -1;
+                    }
+                    List<TextChunk> batch = textChunkRepository.findByBlobIdAndSeqBetweenOrderBySeq(
+                            blobId, nextSeq, nextSeq + READ_BATCH - 1);
+                    // Detached, so a request-scoped persistence context does not collect the whole text
+                    batch.forEach(entityManager::detach);
+                    loaded.addAll(batch);
+                    nextSeq += READ_BATCH;
+                    lastBatch = batch.size() < READ_BATCH;
+                    continue;
+                }
+                current = loaded.poll().getContent();
+                position = 0;
+            }
+            int count = Math.min(length, current.length() - position);
+            current.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            loaded.clear();
+            lastBatch = true;
+            current = "";
+            position = 0;
+        }
+    }
+
+    private static void setReadabilityCounts(ContentBlob blob, WordAnnotations.Totals totals) {
+        blob.setSentenceCount(totals.sentences());
+        blob.setSyllableCount(totals.syllables());
+        blob.setPolysyllableCount(totals.polysyllables());
+    }
+
+    private ContentBlob addReference(ContentBlob blob) {
+        blob.setRefCount(blob.getRefCount() + 1);
+        return blob;
+    }
+
+    private static String preview(String content) {
+        String collapsed = content.replaceAll("\\s+", " ").trim();
+        if (collapsed.length() <= PREVIEW_CHARS) {
+            return collapsed;
+        }
+        int end = Character.isHighSurrogate(collapsed.charAt(PREVIEW_CHARS - 1)) ? PREVIEW_CHARS - 1 : PREVIEW_CHARS;
+        return collapsed.substring(0, end);
+    }
+}
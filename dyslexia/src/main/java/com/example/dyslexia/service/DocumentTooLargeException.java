@@ -0,0 +1,13 @@
+package com.example.dyslexia.service;
+
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+
+// The upload is larger than dyslexia.ingestion.max-document-size, or dyslexia.upload.max-size for resumable uploads
+public class DocumentTooLargeException extends IOException {
+
+    public DocumentTooLargeException(DataSize limit) {
+        super("Document exceeds " + limit);
+    }
+}
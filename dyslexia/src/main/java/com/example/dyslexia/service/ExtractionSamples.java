@@ -0,0 +1,58 @@
+package com.example.dyslexia.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Tiny generated documents used to warm up the parsers, so no binary fixtures ship in the jar.
+// Types without a generator here are simply not warmed up.
+final class ExtractionSamples {
+
+    private static final String LINE = "Reading is easier with a larger font and more space between letters.";
+
+    private ExtractionSamples() {
+    }
+
+    static byte[] sample(String type) throws IOException {
+        return switch (type) {
+            case "text/plain" -> (LINE + "\n").getBytes(StandardCharsets.UTF_8);
+            case "text/html" -> ("<!DOCTYPE html><html><head><title>Warm-up</title></head><body><p>"
+                    + LINE + "</p></body></html>").getBytes(StandardCharsets.UTF_8);
+            case "application/rtf" -> ("{\\rtf1\\ansi\\deff0{\\fonttbl{\\f0 Helvetica;}}\\f0 " + LINE + "\\par}")
+                    .getBytes(StandardCharsets.US_ASCII);
+            case "application/pdf" -> pdf();
+            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document" -> docx();
+            default -> null;
+        };
+    }
+
+    private static byte[] pdf() throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 11);
+                content.newLineAtOffset(50, 740);
+                content.showText(LINE);
+                content.endText();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] docx() throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            document.createParagraph().createRun().setText(LINE);
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.dyslexia.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Warms the extraction parsers once the application is ready. It runs on its own thread so
+// startup is not delayed; an upload that arrives during warm-up just shares the cost.
+@Component
+public class ExtractionWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtractionWarmUp.class);
+
+    @Autowired
+    private TextExtractor textExtractor;
+
+    @Value("${dyslexia.extraction.warm-up:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            textExtractor.warmUp();
+            log.info("Extraction parsers warmed up for {} in {} ms",
+                    textExtractor.getAllowedTypes(), (System.nanoTime() - start) / 1_000_000);
+        }, "extraction-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
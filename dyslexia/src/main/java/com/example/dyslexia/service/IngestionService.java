@@ -0,0 +1,169 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.IngestionJob;
+import com.example.dyslexia.model.Text;
+import com.example.dyslexia.security.CorrelationIdFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Accepts uploads, spools them to disk and runs extraction on a bounded worker pool
+@Service
+public class IngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionService.class);
+
+    @Autowired
+    private TextService textService;
+
+    @Autowired
+    private TextExtractor textExtractor;
+
+    @Autowired
+    private TextRenditionService textRenditionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dyslexia.ingestion.concurrency:2}")
+    private int concurrency;
+
+    @Value("${dyslexia.ingestion.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${dyslexia.ingestion.spool-dir:${java.io.tmpdir}/dyslexia-spool}")
+    private String spoolDir;
+
+    @Value("${dyslexia.ingestion.max-document-size:10MB}")
+    private DataSize maxDocumentSize;
+
+    @Value("${dyslexia.ingestion.job-retention:PT1H}")
+    private Duration jobRetention;
+
+    private final ConcurrentHashMap<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+    private Path spoolPath;
+
+    @PostConstruct
+    void start() throws IOException {
+        spoolPath = Files.createDirectories(Paths.get(spoolDir));
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ingestion-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.gauge("dyslexia.ingestion.queue.depth", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("dyslexia.ingestion.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // Spool the upload and queue it; throws RejectedExecutionException when the queue is full
+    // and UnsupportedDocumentTypeException or DocumentTooLargeException when the file is not accepted
+    public IngestionJob submit(MultipartFile file, String username) throws IOException {
+        // Fail fast before copying the upload to disk
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Ingestion queue is full");
+        }
+        if (file.getSize() > maxDocumentSize.toBytes()) {
+            throw new DocumentTooLargeException(maxDocumentSize);
+        }
+
+        Path spoolFile = spoolPath.resolve(UUID.randomUUID() + ".upload");
+        file.transferTo(spoolFile);
+        try {
+            return submitSpooled(spoolFile, file.getOriginalFilename(), username);
+        } catch (IOException | RejectedExecutionException e) {
+            Files.deleteIfExists(spoolFile);
+            throw e;
+        }
+    }
+
+    // Queue a file that is already on disk, such as a completed resumable upload. The job owns
+    // the file once queued and deletes it when done; if this throws, the caller still owns it.
+    public IngestionJob submitSpooled(Path spoolFile, String fileName, String username) throws IOException {
+        purgeFinishedJobs();
+        textExtractor.checkSupported(spoolFile);
+
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), username, fileName);
+        jobs.put(job.getId(), job);
+        // Keep the uploading request's correlation id on the worker's log lines
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        try {
+            executor.execute(() -> {
+                MDC.put(CorrelationIdFilter.MDC_KEY, correlationId);
+                try {
+                    process(job, spoolFile);
+                } finally {
+                    MDC.remove(CorrelationIdFilter.MDC_KEY);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<IngestionJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private void process(IngestionJob job, Path spoolFile) {
+        job.markExtracting();
+        try {
+            Text text = textService.saveText(spoolFile, job.getFileName(), job.getUsername());
+            // Render the compressed body now so the client's first open is served from storage
+            textRenditionService.prepare(text.getId());
+            job.markDone(text.getId());
+        } catch (Exception e) {
+            log.warn("Ingestion job {} failed", job.getId(), e);
+            job.markFailed(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spoolFile);
+            } catch (IOException e) {
+                log.warn("Could not delete spool file {}", spoolFile, e);
+            }
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -1,28 +1,45 @@
 package com.example.dyslexia.service;
 
 
-import java.util.ArrayList;
+import java.util.Collections;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import com.example.dyslexia.model.UserIdentity;
 import com.example.dyslexia.repository.UserRepository;
 
 
 
 @Service
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    @Autowired
+    private UserIdentityService userIdentityService;
 
     @Autowired
     private UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        com.example.dyslexia.model.User user = userRepository.findByUsername(username)
+        UserIdentity user = userIdentityService.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         return new org.springframework.security.core.userdetails.User(
-                user.getUsername(), user.getPassword(), new ArrayList<>());
+                user.username(), user.passwordHash(), Collections.emptyList());
+    }
+
+    // Called by Spring Security when a stored hash is re-encoded, e.g. after a BCrypt strength change
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        com.example.dyslexia.model.User stored = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        stored.setPassword(newPassword);
+        userRepository.save(stored);
+        // Invalidate after the save has committed so a concurrent lookup cannot re-cache the old hash
+        userIdentityService.invalidate(stored.getUsername(), stored.getEmail());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
     }
 }
 
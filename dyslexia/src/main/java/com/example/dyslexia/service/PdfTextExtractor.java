@@ -0,0 +1,140 @@
+package com.example.dyslexia.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Extracts PDF text with PDFBox, splitting large documents into page ranges that are stripped in
+// parallel on a shared fork-join pool. Ranges are written in page order as soon as each one and
+// all before it are done, so the start of a long document is available while the rest is parsed.
+// PDFTextStripper output is page-local, so the result is identical to a single sequential pass.
+@Component
+public class PdfTextExtractor implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final int pagesPerTask;
+    private final int minPagesForParallel;
+
+    public PdfTextExtractor(@Value("${dyslexia.extraction.pdf.parallelism:0}") int parallelism,
+                            @Value("${dyslexia.extraction.pdf.pages-per-task:16}") int pagesPerTask,
+                            @Value("${dyslexia.extraction.pdf.min-pages-for-parallel:32}") int minPagesForParallel) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, forkJoinPool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("pdf-extract-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.pagesPerTask = pagesPerTask;
+        this.minPagesForParallel = minPagesForParallel;
+    }
+
+    // Stops the page pool; the container calls this, code that creates its own instance must too
+    @PreDestroy
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    public void extract(Path file, Writer output) throws IOException {
+        int pages;
+        try (PDDocument document = load(file)) {
+            pages = document.getNumberOfPages();
+            if (pages < minPagesForParallel || pool.getParallelism() == 1) {
+                newStripper(1, pages).writeText(document, output);
+                return;
+            }
+        }
+
+        // Keep a bounded window of ranges in flight so finished text does not pile up in memory
+        int window = pool.getParallelism() * 2;
+        Deque<ForkJoinTask<String>> inFlight = new ArrayDeque<>();
+        int nextPage = 1;
+        try {
+            while (nextPage <= pages || !inFlight.isEmpty()) {
+                while (nextPage <= pages && inFlight.size() < window) {
+                    int from = nextPage;
+                    int to = Math.min(pages, from + pagesPerTask - 1);
+                    inFlight.addLast(pool.submit(() -> extractRange(file, from, to)));
+                    nextPage = to + 1;
+                }
+                output.write(await(inFlight.removeFirst()));
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+    }
+
+    // The single-pass result parallel extraction must match
+    public String extractSequential(Path file) throws IOException {
+        try (PDDocument document = load(file)) {
+            StringWriter output = new StringWriter();
+            newStripper(1, document.getNumberOfPages()).writeText(document, output);
+            return output.toString();
+        }
+    }
+
+    // Strip a small sample PDF on a pool thread so PDFBox class loading and font setup, and the
+    // worker thread itself, are in place before the first upload
+    void warmUp(byte[] samplePdf) throws IOException {
+        Path file = Files.createTempFile("pdf-warm-up", ".pdf");
+        try {
+            Files.write(file, samplePdf);
+            await(pool.submit(() -> extractRange(file, 1, 1)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Each range opens its own document: PDDocument is not safe to share between threads
+    private static String extractRange(Path file, int from, int to) {
+        try (PDDocument document = load(file)) {
+            return newStripper(from, to).getText(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static PDDocument load(Path file) throws IOException {
+        return PDDocument.load(file.toFile(), MemoryUsageSetting.setupTempFileOnly());
+    }
+
+    private static PDFTextStripper newStripper(int from, int to) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(from);
+        stripper.setEndPage(to);
+        return stripper;
+    }
+
+    private static String await(ForkJoinTask<String> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting PDF text", e);
+        } catch (CancellationException e) {
+            throw new IOException("PDF extraction was cancelled", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            throw new IOException("Failed to extract text from PDF.", e.getCause());
+        }
+    }
+}
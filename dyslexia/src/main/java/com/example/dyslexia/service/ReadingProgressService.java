@@ -0,0 +1,254 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.ProgressUpdate;
+import com.example.dyslexia.model.ReadingPosition;
+import com.example.dyslexia.model.ReadingProgress;
+import com.example.dyslexia.repository.ReadingProgressRepository;
+import com.example.dyslexia.repository.TextRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Reading positions are kept in memory per (user, text): clients may ping every few seconds,
+// each ping only replaces an in-memory entry, and dirty entries reach the database in one JDBC
+// batch per flush interval. The latest update by client time wins, so pings from several
+// devices arriving out of order cannot move a reader backwards.
+@Service
+public class ReadingProgressService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadingProgressService.class);
+
+    // H2 upsert on the (username, text_id) unique key. Writes nothing once the text is deleted,
+    // so a flush racing a delete cannot bring its progress back after forgetText.
+    private static final String MERGE_PROGRESS = "merge into reading_progress"
+            + " (username, text_id, word_index, mode, wpm, updated_at, reading_seconds)"
+            + " key (username, text_id)"
+            + " select cast(? as varchar(255)), id, cast(? as integer), cast(? as varchar(16)), cast(? as integer),"
+            + " cast(? as timestamp(6) with time zone), cast(? as bigint)"
+            + " from text where id = ? and deleted_at is null";
+
+    private static final int MAX_MODE_LENGTH = 16;
+
+    @Autowired
+    private ReadingProgressRepository repository;
+
+    @Autowired
+    private TextRepository textRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dyslexia.progress.flush-interval:PT5S}")
+    private Duration flushInterval;
+
+    @Value("${dyslexia.progress.idle-eviction:PT30M}")
+    private Duration idleEviction;
+
+    // Longest pause between pings of one session that still counts as reading time
+    @Value("${dyslexia.progress.session-gap:PT2M}")
+    private Duration sessionGap;
+
+    private record Key(String username, Long textId) {
+    }
+
+    // Entries are replaced, never modified, so the flusher can tell whether one changed while it
+    // was written. A null position records "no progress yet"; reading time is kept in millis so
+    // frequent pings do not lose their fractions of a second.
+    private record Entry(ReadingPosition position, long readingMillis, boolean dirty,
+                         String sessionId, long lastPingMillis, long lastAccessMillis) {
+
+        Entry touched(long now) {
+            return new Entry(position, readingMillis, dirty, sessionId, lastPingMillis, now);
+        }
+
+        Entry clean() {
+            return new Entry(position, readingMillis, false, sessionId, lastPingMillis, lastAccessMillis);
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+    private Counter updates;
+    private Counter flushedRows;
+
+    @PostConstruct
+    void start() {
+        updates = meterRegistry.counter("dyslexia.progress.updates");
+        flushedRows = meterRegistry.counter("dyslexia.progress.flushed");
+        meterRegistry.gaugeMapSize("dyslexia.progress.cached", List.of(), entries);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushAndEvict, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    // Empty when the user has no position in the text, or the text is deleted or someone else's
+    public Optional<ReadingPosition> getPosition(String username, Long textId) {
+        Key key = new Key(username, textId);
+        long now = System.currentTimeMillis();
+        Entry entry = entries.computeIfPresent(key, (k, current) -> current.touched(now));
+        if (entry == null) {
+            // Checked like a first update, so only the user's own live texts are ever cached
+            if (!textRepository.findOwnerUsernameById(textId).map(username::equals).orElse(false)) {
+                return Optional.empty();
+            }
+            entry = entries.computeIfAbsent(key, k -> load(k, now));
+        }
+        return Optional.ofNullable(entry.position());
+    }
+
+    // Positions in all texts, most recently read first. Rows come from the database and
+    // anything newer in memory, including positions not yet flushed, takes their place.
+    public List<ReadingPosition> getPositions(String username) {
+        Map<Long, ReadingPosition> positions = new LinkedHashMap<>();
+        for (ReadingProgress row : repository.findLiveByUsername(username)) {
+            positions.put(row.getTextId(), ReadingPosition.of(row));
+        }
+        entries.forEach((key, entry) -> {
+            if (key.username().equals(username) && entry.position() != null) {
+                positions.put(key.textId(), entry.position());
+            }
+        });
+        List<ReadingPosition> sorted = new ArrayList<>(positions.values());
+        sorted.sort(Comparator.comparing(ReadingPosition::updatedAt).reversed());
+        return sorted;
+    }
+
+    // Applies a ping and returns the position now current, which is the stored one when the
+    // ping is older. Empty when the text does not exist or belongs to another user.
+    public Optional<ReadingPosition> update(String username, Long textId, ProgressUpdate update) {
+        if (update.wordIndex() == null || update.wordIndex() < 0) {
+            throw new IllegalArgumentException("wordIndex must be zero or more");
+        }
+        if (update.wpm() != null && update.wpm() <= 0) {
+            throw new IllegalArgumentException("wpm must be positive");
+        }
+        if (update.mode() != null && update.mode().length() > MAX_MODE_LENGTH) {
+            throw new IllegalArgumentException("mode must be at most " + MAX_MODE_LENGTH + " characters");
+        }
+
+        Key key = new Key(username, textId);
+        long now = System.currentTimeMillis();
+        Entry loaded = entries.get(key);
+        // Only the first position in a text needs the text and its owner to be checked
+        if ((loaded == null || loaded.position() == null)
+                && !textRepository.findOwnerUsernameById(textId).map(username::equals).orElse(false)) {
+            return Optional.empty();
+        }
+        if (loaded == null) {
+            loaded = load(key, now);
+        }
+        Entry fallback = loaded;
+        Entry applied = entries.compute(key,
+                (k, current) -> apply(k, current != null ? current : fallback, update, now));
+        updates.increment();
+        return Optional.of(applied.position());
+    }
+
+    // Drops progress in a deleted text from memory; its rows go when StorageMaintenance purges the text
+    public void forgetText(Long textId) {
+        entries.keySet().removeIf(key -> key.textId().equals(textId));
+    }
+
+    private Entry apply(Key key, Entry current, ProgressUpdate update, long now) {
+        // Client clocks ahead of the server are clamped, so they cannot pin a position forever
+        Instant serverNow = Instant.ofEpochMilli(now);
+        Instant time = update.clientTime() == null || update.clientTime().isAfter(serverNow)
+                ? serverNow : update.clientTime();
+        ReadingPosition position = current.position();
+        if (position != null && time.isBefore(position.updatedAt())) {
+            return current.touched(now);
+        }
+
+        long readingMillis = current.readingMillis();
+        if (update.sessionId() != null && update.sessionId().equals(current.sessionId())) {
+            long gap = now - current.lastPingMillis();
+            if (gap > 0 && gap <= sessionGap.toMillis()) {
+                readingMillis += gap;
+            }
+        }
+        ReadingPosition next = new ReadingPosition(key.textId(), update.wordIndex(), update.mode(), update.wpm(),
+                time, readingMillis / 1000);
+        return new Entry(next, readingMillis, true, update.sessionId(), now, now);
+    }
+
+    private Entry load(Key key, long now) {
+        return repository.findByUsernameAndTextId(key.username(), key.textId())
+                .map(row -> new Entry(ReadingPosition.of(row), row.getReadingSeconds() * 1000, false, null, 0, now))
+                .orElseGet(() -> new Entry(null, 0, false, null, 0, now));
+    }
+
+    private void flushAndEvict() {
+        flush();
+        // Only clean entries go; remove-if uses remove(key, value), so a concurrent update keeps its entry
+        long idleSince = System.currentTimeMillis() - idleEviction.toMillis();
+        entries.entrySet().removeIf(e -> !e.getValue().dirty() && e.getValue().lastAccessMillis() < idleSince);
+    }
+
+    // Writes every dirty entry in one batch. Entries are marked clean only if unchanged since
+    // they were read; on failure they stay dirty and the next run retries.
+    void flush() {
+        List<Map.Entry<Key, Entry>> dirty = new ArrayList<>();
+        entries.forEach((key, entry) -> {
+            if (entry.dirty()) {
+                dirty.add(Map.entry(key, entry));
+            }
+        });
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(MERGE_PROGRESS, dirty, dirty.size(), (ps, item) -> {
+                ReadingPosition position = item.getValue().position();
+                ps.setString(1, item.getKey().username());
+                ps.setInt(2, position.wordIndex());
+                ps.setString(3, position.mode());
+                ps.setObject(4, position.wpm());
+                ps.setObject(5, position.updatedAt().atOffset(ZoneOffset.UTC));
+                ps.setLong(6, position.readingSeconds());
+                ps.setLong(7, item.getKey().textId());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} reading positions, retrying", dirty.size(), e);
+            return;
+        }
+        for (Map.Entry<Key, Entry> item : dirty) {
+            entries.computeIfPresent(item.getKey(), (key, current) -> current == item.getValue() ? current.clean() : current);
+        }
+        flushedRows.increment(dirty.size());
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.IngestionJob;
+import com.example.dyslexia.model.UploadSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Resumable uploads: a session is created with the file's total length, byte ranges are PUT in
+// order and written straight from the request stream into a spool file through a FileChannel,
+// and completing the session hands the file to the ingestion pipeline. Memory use does not
+// depend on the file size, and a client that lost its connection asks for the offset and
+// resends only what is missing. Sessions live in memory; idle ones expire with their files.
+@Service
+public class ResumableUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+
+    // Bytes copied per transfer call; the session offset advances after each one
+    private static final long TRANSFER_STEP = 1024 * 1024;
+
+    @Autowired
+    private IngestionService ingestionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dyslexia.upload.spool-dir:${java.io.tmpdir}/dyslexia-spool/resumable}")
+    private String spoolDir;
+
+    @Value("${dyslexia.upload.max-size:200MB}")
+    private DataSize maxSize;
+
+    // Sessions without a request for this long are dropped along with their bytes
+    @Value("${dyslexia.upload.session-ttl:PT24H}")
+    private Duration sessionTtl;
+
+    @Value("${dyslexia.upload.max-sessions-per-user:4}")
+    private int maxSessionsPerUser;
+
+    @Value("${dyslexia.upload.expiry-check-interval:PT10M}")
+    private Duration expiryCheckInterval;
+
+    // The lock admits one writer per session; completion and expiry take it too
+    private record Open(UploadSession session, Path file, ReentrantLock lock) {
+    }
+
+    private final ConcurrentHashMap<String, Open> sessions = new ConcurrentHashMap<>();
+    // Open sessions per user; a slot is reserved before a session is added and freed when it is removed
+    private final ConcurrentHashMap<String, Integer> openPerUser = new ConcurrentHashMap<>();
+    private Path spoolPath;
+    private ScheduledExecutorService reaper;
+    private Counter receivedBytes;
+
+    @PostConstruct
+    void start() throws IOException {
+        spoolPath = Files.createDirectories(Paths.get(spoolDir));
+        // Sessions do not survive a restart, so neither do their partial files
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(spoolPath, "*.part")) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+        receivedBytes = meterRegistry.counter("dyslexia.upload.resumable.bytes");
+        meterRegistry.gaugeMapSize("dyslexia.upload.resumable.sessions", List.of(), sessions);
+        reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upload-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = expiryCheckInterval.toMillis();
+        reaper.scheduleWithFixedDelay(this::expireIdleSessions, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        reaper.shutdownNow();
+    }
+
+    // Throws DocumentTooLargeException above dyslexia.upload.max-size and
+    // RejectedExecutionException when the user already has the maximum number of open sessions
+    public UploadSession create(String username, String fileName, long length) throws IOException {
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be positive");
+        }
+        if (length > maxSize.toBytes()) {
+            throw new DocumentTooLargeException(maxSize);
+        }
+        openPerUser.compute(username, (key, open) -> {
+            int current = open != null ? open : 0;
+            if (current >= maxSessionsPerUser) {
+                throw new RejectedExecutionException("Too many open uploads");
+            }
+            return current + 1;
+        });
+
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), username, fileName, length);
+        Path file;
+        try {
+            file = Files.createFile(spoolPath.resolve(session.getId() + ".part"));
+        } catch (IOException | RuntimeException e) {
+            releaseSlot(username);
+            throw e;
+        }
+        sessions.put(session.getId(), new Open(session, file, new ReentrantLock()));
+        return session;
+    }
+
+    // Empty for unknown sessions and sessions of other users
+    public Optional<UploadSession> get(String username, String id) {
+        return find(username, id).map(open -> {
+            open.session().touch();
+            return open.session();
+        });
+    }
+
+    public Instant expiresAt(UploadSession session) {
+        return session.getLastActivityAt().plus(sessionTtl);
+    }
+
+    // Appends the bytes [start, end) read from body. A range that starts before the current
+    // offset is a retry: the part already stored is skipped. A range starting after it, or a
+    // concurrent write to the same session, is rejected with the offset to resume from.
+    // If the body ends early, the bytes that did arrive are kept.
+    public Optional<UploadSession> append(String username, String id, long start, long end, InputStream body)
+            throws IOException {
+        Optional<Open> found = find(username, id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Open open = found.get();
+        UploadSession session = open.session();
+        if (end > session.getLength() || start < 0 || end < start) {
+            throw new IllegalArgumentException("Range must lie within the upload's length");
+        }
+        if (!open.lock().tryLock()) {
+            throw new UploadOffsetMismatchException("Another request is writing to this upload", session.getOffset());
+        }
+        try {
+            if (sessions.get(id) != open) {
+                return Optional.empty();
+            }
+            long offset = session.getOffset();
+            if (start > offset) {
+                throw new UploadOffsetMismatchException("Range starts after the received offset", offset);
+            }
+            if (end <= offset) {
+                session.touch();
+                return Optional.of(session);
+            }
+            body.skipNBytes(offset - start);
+
+            // Writes go to absolute positions, so bytes written past the recorded offset by a
+            // transfer that failed midway are simply overwritten by the retry
+            try (FileChannel channel = FileChannel.open(open.file(), StandardOpenOption.WRITE)) {
+                ReadableByteChannel source = Channels.newChannel(body);
+                long position = offset;
+                while (position < end) {
+                    long transferred = channel.transferFrom(source, position, Math.min(TRANSFER_STEP, end - position));
+                    if (transferred == 0) {
+                        break; // Body ended before the declared range did
+                    }
+                    position += transferred;
+                    receivedBytes.increment(transferred);
+                    session.advance(position);
+                }
+            }
+            return Optional.of(session);
+        } finally {
+            open.lock().unlock();
+        }
+    }
+
+    // Hands a fully received upload to extraction. Throws UploadOffsetMismatchException while
+    // bytes are missing, RejectedExecutionException when the ingestion queue is full (the
+    // session stays, so the client can complete again later) and UnsupportedDocumentTypeException
+    // for files that will never be accepted (the session is dropped).
+    public Optional<IngestionJob> complete(String username, String id) throws IOException {
+        Optional<Open> found = find(username, id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Open open = found.get();
+        UploadSession session = open.session();
+        if (!open.lock().tryLock()) {
+            throw new UploadOffsetMismatchException("Another request is writing to this upload", session.getOffset());
+        }
+        try {
+            if (sessions.get(id) != open) {
+                return Optional.empty();
+            }
+            if (!session.isComplete()) {
+                throw new UploadOffsetMismatchException("Upload is incomplete", session.getOffset());
+            }
+            // Drop anything a failed transfer wrote past the end
+            try (FileChannel channel = FileChannel.open(open.file(), StandardOpenOption.WRITE)) {
+                channel.truncate(session.getLength());
+            }
+
+            IngestionJob job;
+            try {
+                job = ingestionService.submitSpooled(open.file(), session.getFileName(), username);
+            } catch (UnsupportedDocumentTypeException e) {
+                discard(open);
+                throw e;
+            }
+            // The ingestion job owns the file now
+            remove(open);
+            return Optional.of(job);
+        } finally {
+            open.lock().unlock();
+        }
+    }
+
+    public boolean cancel(String username, String id) throws IOException {
+        Optional<Open> found = find(username, id);
+        if (found.isEmpty()) {
+            return false;
+        }
+        Open open = found.get();
+        open.lock().lock();
+        try {
+            discard(open);
+        } finally {
+            open.lock().unlock();
+        }
+        return true;
+    }
+
+    private Optional<Open> find(String username, String id) {
+        return Optional.ofNullable(sessions.get(id)).filter(open -> open.session().getUsername().equals(username));
+    }
+
+    private void discard(Open open) throws IOException {
+        remove(open);
+        Files.deleteIfExists(open.file());
+    }
+
+    private void remove(Open open) {
+        if (sessions.remove(open.session().getId(), open)) {
+            releaseSlot(open.session().getUsername());
+        }
+    }
+
+    private void releaseSlot(String username) {
+        openPerUser.computeIfPresent(username, (key, open) -> open > 1 ? open - 1 : null);
+    }
+
+    // Sessions busy with a request are left for the next run
+    private void expireIdleSessions() {
+        Instant cutoff = Instant.now().minus(sessionTtl);
+        for (Open open : sessions.values()) {
+            if (open.session().getLastActivityAt().isAfter(cutoff) || !open.lock().tryLock()) {
+                continue;
+            }
+            try {
+                discard(open);
+                log.info("Expired upload {} of {} after {} of {} bytes", open.session().getId(),
+                        open.session().getUsername(), open.session().getOffset(), open.session().getLength());
+            } catch (IOException e) {
+                log.warn("Could not delete expired upload {}", open.file(), e);
+            } finally {
+                open.lock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.RsvpGroup;
+import com.example.dyslexia.model.Text;
+import com.example.dyslexia.model.TextChunk;
+import com.example.dyslexia.repository.TextChunkRepository;
+import com.example.dyslexia.repository.TextRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Streams a text as paced word groups over server-sent events, reading chunks only as
+// playback reaches them so a reader can start anywhere without loading the whole text.
+// The scheduler only keeps time: each group is sent, and chunks are loaded, on a bounded worker
+// pool, so a slow client or a slow query never delays the other streams' timers.
+@Service
+public class RsvpStreamService {
+
+    private static final int CHUNK_BATCH = 4;
+
+    @Autowired
+    private TextRepository textRepository;
+
+    @Autowired
+    private TextChunkRepository textChunkRepository;
+
+    @Autowired
+    private TextService textService;
+
+    @Value("${dyslexia.rsvp.scheduler-threads:2}")
+    private int schedulerThreads;
+
+    // Threads for the blocking part of each step: SSE writes and chunk queries
+    @Value("${dyslexia.rsvp.worker-threads:8}")
+    private int workerThreads;
+
+    // Steps waiting for a worker; beyond this new streams get 503 and running ones end
+    @Value("${dyslexia.rsvp.worker-queue-capacity:256}")
+    private int workerQueueCapacity;
+
+    @Value("${dyslexia.rsvp.stream-timeout:PT30M}")
+    private Duration streamTimeout;
+
+    private ScheduledExecutorService scheduler;
+    private ThreadPoolExecutor workers;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(schedulerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "rsvp-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger workerCount = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rsvp-worker-" + workerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // Empty when the text does not exist. A fromWord past the last word streams just the "end" event.
+    // A text still in the legacy content column is converted to chunks first, as for ranges.
+    // Throws RejectedExecutionException when the worker pool is saturated.
+    public Optional<SseEmitter> stream(Long textId, int fromWord, int groupSize, int wpm) {
+        Optional<Long> blobId = textRepository.findBlobIdById(textId)
+                .or(() -> textService.getStoredText(textId).map(Text::getBlobId));
+        Optional<TextChunk> first = blobId.flatMap(id -> textChunkRepository
+                .findFirstByBlobIdAndFirstWordLessThanEqualOrderBySeqDesc(id, fromWord));
+        if (first.isEmpty()) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Session session = new Session(emitter, first.get(), fromWord, groupSize, 60_000.0 / wpm);
+        emitter.onCompletion(session::cancel);
+        emitter.onTimeout(session::cancel);
+        emitter.onError(error -> session.cancel());
+        workers.execute(session);
+        return Optional.of(emitter);
+    }
+
+    // One client's playback; each run sends a group and schedules the next after its duration
+    private class Session implements Runnable {
+        private final SseEmitter emitter;
+        private final Long blobId;
+        private final int groupSize;
+        private final double baseMillis;
+
+        private Iterator<TextChunk> batch;
+        private int nextSeq;
+        private TextChunk chunk;
+        private WordTokens tokens;
+        private int position;
+        private int index;
+        private volatile boolean cancelled;
+
+        Session(SseEmitter emitter, TextChunk first, int fromWord, int groupSize, double baseMillis) {
+            this.emitter = emitter;
+            this.blobId = first.getBlobId();
+            this.groupSize = groupSize;
+            this.baseMillis = baseMillis;
+            this.batch = List.of(first).iterator();
+            this.nextSeq = first.getSeq() + 1;
+            this.index = fromWord;
+            nextChunk();
+            this.position = fromWord - first.getFirstWord();
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                List<String> words = new ArrayList<>(groupSize);
+                long tenths = 0;
+                while (words.size() < groupSize && chunk != null) {
+                    if (position < tokens.size()) {
+                        words.add(tokens.word(chunk.getContent(), position));
+                        tenths += tokens.duration(position);
+                        position++;
+                    } else {
+                        nextChunk();
+                    }
+                }
+                if (words.isEmpty()) {
+                    emitter.send(SseEmitter.event().name("end").data(index));
+                    emitter.complete();
+                    return;
+                }
+                long durationMs = Math.round(baseMillis * tenths / WordTokens.BASE_DURATION);
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(index))
+                        .name("words")
+                        .data(new RsvpGroup(index, words, durationMs)));
+                index += words.size();
+                scheduler.schedule(this::dispatch, durationMs, TimeUnit.MILLISECONDS);
+            } catch (IOException | RuntimeException e) {
+                cancelled = true;
+                emitter.completeWithError(e);
+            }
+        }
+
+        // Runs on the scheduler when the group's time is up: hands the next step to a worker
+        private void dispatch() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                workers.execute(this);
+            } catch (RejectedExecutionException e) {
+                cancelled = true;
+                emitter.completeWithError(e);
+            }
+        }
+
+        // Advance to the following chunk, fetching a few at a time
+        private void nextChunk() {
+            if (!batch.hasNext()) {
+                List<TextChunk> loaded = textChunkRepository.findByBlobIdAndSeqBetweenOrderBySeq(
+                        blobId, nextSeq, nextSeq + CHUNK_BATCH - 1);
+                nextSeq += CHUNK_BATCH;
+                batch = loaded.iterator();
+            }
+            chunk = batch.hasNext() ? batch.next() : null;
+            position = 0;
+            if (chunk != null) {
+                tokens = chunk.getWordOffsets() != null
+                        ? WordTokens.decode(chunk.getWordOffsets(), chunk.getWordDurations())
+                        : WordTokens.tokenize(chunk.getContent()); // Stored before tokens were precomputed
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.dyslexia.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Character buffer that stays in memory up to a threshold and spills to a temp file beyond it
+public class SpillingTextBuffer implements Closeable {
+
+    private final int memoryThreshold;
+    private StringBuilder memory = new StringBuilder();
+    private Path spillFile;
+    private Writer spillWriter;
+    private long length;
+
+    public SpillingTextBuffer(int memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    // Writer that appends to this buffer; closing it is optional
+    public Writer writer() {
+        return new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                appendChars(cbuf, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (spillWriter != null) {
+                    spillWriter.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    // Finish writing and read the buffered text back from the start
+    public Reader reader() throws IOException {
+        if (spillWriter != null) {
+            spillWriter.close();
+            spillWriter = null;
+        }
+        if (spillFile != null) {
+            return Files.newBufferedReader(spillFile, StandardCharsets.UTF_8);
+        }
+        return new StringReader(memory.toString());
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    private void appendChars(char[] cbuf, int off, int len) throws IOException {
+        if (spillFile == null && memory.length() + len > memoryThreshold) {
+            spill();
+        }
+        if (spillWriter != null) {
+            spillWriter.write(cbuf, off, len);
+        } else {
+            memory.append(cbuf, off, len);
+        }
+        length += len;
+    }
+
+    private void spill() throws IOException {
+        spillFile = Files.createTempFile("dyslexia-extract", ".txt");
+        spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+        spillWriter.append(memory);
+        memory = null;
+    }
+
+    // Delete the spill file, if any
+    @Override
+    public void close() throws IOException {
+        if (spillWriter != null) {
+            spillWriter.close();
+            spillWriter = null;
+        }
+        if (spillFile != null) {
+            Files.deleteIfExists(spillFile);
+        }
+    }
+}
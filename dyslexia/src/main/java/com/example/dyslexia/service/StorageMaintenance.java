@@ -0,0 +1,260 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.security.RequestActivityFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Background storage upkeep, run while no API request has been seen for a while:
+// purges deleted (tombstoned) texts with their renditions, reading progress and content, a
+// batch per transaction, and then compacts the H2 file so it shrinks back towards the size of
+// the live data. H2 never returns the space of deleted LOBs to the file system on its own.
+// An API that is never quiet (clients send progress pings every few seconds) would starve the
+// purge, so once it has been deferred for max-deferral a run goes ahead regardless, still bounded
+// by max-run-time. Compaction closes the database and only ever runs in a quiet period.
+@Service
+public class StorageMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageMaintenance.class);
+
+    private static final String H2_URL_PREFIX = "jdbc:h2:";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RequestActivityFilter requestActivity;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Value("${dyslexia.maintenance.check-interval:PT1M}")
+    private Duration checkInterval;
+
+    // Maintenance starts only after the API has been idle this long, and stops when a request arrives
+    @Value("${dyslexia.maintenance.quiet-period:PT30S}")
+    private Duration quietPeriod;
+
+    // Upper bound on one maintenance run, purge and compaction together
+    @Value("${dyslexia.maintenance.max-run-time:PT30S}")
+    private Duration maxRunTime;
+
+    // Tombstones younger than this are left alone, so requests that already loaded the text finish
+    @Value("${dyslexia.maintenance.purge-after:PT5M}")
+    private Duration purgeAfter;
+
+    @Value("${dyslexia.maintenance.purge-batch-size:50}")
+    private int purgeBatchSize;
+
+    // Longest wait for a quiet period; after this a run starts, and finishes, despite requests
+    @Value("${dyslexia.maintenance.max-deferral:PT6H}")
+    private Duration maxDeferral;
+
+    // Compaction runs after every purge, and otherwise at most this often
+    @Value("${dyslexia.maintenance.compaction-interval:PT6H}")
+    private Duration compactionInterval;
+
+    private ScheduledExecutorService scheduler;
+    // Null when the database is not a local H2 file
+    private Path databaseFile;
+    private Instant lastCompaction = Instant.EPOCH;
+    private long lastRunNanos = System.nanoTime();
+    private Counter purgedTexts;
+    private Counter reclaimedBytes;
+    private Timer purgeTimer;
+    private Timer compactionTimer;
+
+    @PostConstruct
+    void start() {
+        databaseFile = h2DatabaseFile(datasourceUrl);
+        if (databaseFile == null) {
+            log.info("Database is not a local H2 file, storage compaction is disabled");
+        } else {
+            meterRegistry.gauge("dyslexia.maintenance.database.size", databaseFile, StorageMaintenance::sizeOf);
+        }
+        purgedTexts = meterRegistry.counter("dyslexia.maintenance.purged.texts");
+        reclaimedBytes = meterRegistry.counter("dyslexia.maintenance.reclaimed.bytes");
+        purgeTimer = Timer.builder("dyslexia.maintenance.duration").tag("task", "purge").register(meterRegistry);
+        compactionTimer = Timer.builder("dyslexia.maintenance.duration").tag("task", "compact").register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = checkInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::runIfQuiet, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    void runIfQuiet() {
+        boolean overdue = System.nanoTime() - lastRunNanos >= maxDeferral.toNanos();
+        if (!overdue && !requestActivity.isQuietFor(quietPeriod)) {
+            return;
+        }
+        if (overdue && !requestActivity.isQuietFor(quietPeriod)) {
+            log.info("Storage maintenance deferred for {} without a quiet period, running now", maxDeferral);
+        }
+        lastRunNanos = System.nanoTime();
+        long deadline = lastRunNanos + maxRunTime.toNanos();
+        try {
+            int purged = purgeTombstones(deadline, overdue);
+            boolean compactionDue = purged > 0 || lastCompaction.isBefore(Instant.now().minus(compactionInterval));
+            if (databaseFile != null && compactionDue && deadline - System.nanoTime() > 0
+                    && requestActivity.isQuietFor(quietPeriod)) {
+                compact(deadline);
+            }
+        } catch (RuntimeException | SQLException e) {
+            log.warn("Storage maintenance failed, retrying next run", e);
+        }
+    }
+
+    // Overdue runs carry on through requests; others stop as soon as one arrives
+    private boolean mayRun(boolean overdue) {
+        return overdue || requestActivity.isQuietFor(quietPeriod);
+    }
+
+    // Purges tombstoned texts a batch at a time until none are left, the run's time is up or
+    // (unless the run is overdue) a request arrives. Returns the number of texts purged.
+    int purgeTombstones(long deadline, boolean overdue) {
+        int purged = 0;
+        long start = System.nanoTime();
+        try {
+            while (deadline - System.nanoTime() > 0 && mayRun(overdue)) {
+                int batch = purgeBatch(Instant.now().minus(purgeAfter));
+                purged += batch;
+                if (batch < purgeBatchSize) {
+                    break;
+                }
+            }
+        } finally {
+            if (purged > 0) {
+                purgedTexts.increment(purged);
+                purgeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                log.info("Purged {} deleted text(s)", purged);
+            }
+        }
+        return purged;
+    }
+
+    private record Tombstone(long id, Long blobId) {
+    }
+
+    private int purgeBatch(Instant deletedBefore) {
+        List<Tombstone> tombstones = jdbcTemplate.query(
+                "select id, blob_id from text where deleted_at < ? order by id limit ?",
+                (rs, row) -> new Tombstone(rs.getLong("id"), rs.getObject("blob_id", Long.class)),
+                deletedBefore.atOffset(ZoneOffset.UTC), purgeBatchSize);
+        if (tombstones.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // Rows referencing the text first, then the text, then its share of the content
+            for (String delete : List.of("delete from text_rendition_part where text_id = ?",
+                    "delete from text_rendition where text_id = ?",
+                    "delete from reading_progress where text_id = ?",
+                    "delete from text where id = ?")) {
+                jdbcTemplate.batchUpdate(delete, tombstones, tombstones.size(),
+                        (ps, tombstone) -> ps.setLong(1, tombstone.id()));
+            }
+            tombstones.stream()
+                    .map(Tombstone::blobId)
+                    .filter(Objects::nonNull)
+                    .forEach(contentStore::release);
+        });
+        return tombstones.size();
+    }
+
+    // Compaction through H2's documented close-time compaction: SHUTDOWN rewrites sparsely filled
+    // chunks and truncates the free tail for up to MAX_COMPACT_TIME. The next connection reopens
+    // the database; pooled connections to the closed one are evicted first.
+    void compact(long deadline) throws SQLException {
+        long before = sizeOf(databaseFile);
+        long start = System.nanoTime();
+        long maxCompactMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - start));
+        jdbcTemplate.execute("SET MAX_COMPACT_TIME " + maxCompactMillis);
+        jdbcTemplate.execute("SHUTDOWN");
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().softEvictConnections();
+        }
+        lastCompaction = Instant.now();
+        compactionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        long reclaimed = before - sizeOf(databaseFile);
+        if (reclaimed > 0) {
+            reclaimedBytes.increment(reclaimed);
+            log.info("Compacted {}: {} bytes reclaimed", databaseFile, reclaimed);
+        }
+    }
+
+    // The MVStore file of an embedded H2 URL such as jdbc:h2:file:./data/testdb, or null for
+    // in-memory and client/server URLs
+    static Path h2DatabaseFile(String url) {
+        if (url == null || !url.startsWith(H2_URL_PREFIX)) {
+            return null;
+        }
+        String name = url.substring(H2_URL_PREFIX.length());
+        int settings = name.indexOf(';');
+        if (settings >= 0) {
+            name = name.substring(0, settings);
+        }
+        if (name.startsWith("file:")) {
+            name = name.substring("file:".length());
+        } else if (name.startsWith("mem:") || name.startsWith("tcp:") || name.startsWith("ssl:")
+                || name.startsWith("zip:")) {
+            return null;
+        }
+        if (name.startsWith("~")) {
+            name = System.getProperty("user.home") + name.substring(1);
+        }
+        return Paths.get(name + ".mv.db");
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
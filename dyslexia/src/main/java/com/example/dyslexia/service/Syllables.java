@@ -0,0 +1,156 @@
+package com.example.dyslexia.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+
+// Rule-based English syllabification: vowel groups are the syllable nuclei (minus silent
+// endings) and each consonant run between two nuclei is split by the usual V-CV / VC-CV rules,
+// keeping digraphs and common onset clusters together. Not dictionary-exact, but stable and
+// good enough for reading aids and readability formulas.
+public final class Syllables {
+
+    private static final int[] NONE = new int[0];
+
+    // Two-letter consonant groups read as one sound
+    private static final Set<String> DIGRAPHS = Set.of("ch", "sh", "th", "ph", "wh", "gh", "ck", "ng", "qu");
+
+    // Consonant pairs that can start a syllable
+    private static final Set<String> ONSETS = Set.of(
+            "bl", "br", "cl", "cr", "dr", "fl", "fr", "gl", "gr", "pl", "pr", "sc", "sk", "sl", "sm", "sn",
+            "sp", "st", "sw", "tr", "tw", "wr", "ch", "sh", "th", "ph", "wh", "qu");
+
+    private Syllables() {
+    }
+
+    // Break positions inside the token (offsets where a new syllable starts), ascending.
+    // Each run of letters is syllabified on its own, so punctuation and hyphens are never
+    // part of a syllable and compounds like "well-known" split at the hyphen only.
+    public static int[] breaks(String token) {
+        int[] breaks = NONE;
+        int size = 0;
+        int i = 0;
+        while (i < token.length()) {
+            if (!Character.isLetter(token.charAt(i))) {
+                i++;
+                continue;
+            }
+            int from = i;
+            while (i < token.length() && Character.isLetter(token.charAt(i))) {
+                i++;
+            }
+            int[] run = runBreaks(token.substring(from, i).toLowerCase(Locale.ROOT));
+            if (run.length > 0) {
+                breaks = Arrays.copyOf(breaks, size + run.length);
+                for (int offset : run) {
+                    breaks[size++] = from + offset;
+                }
+            }
+        }
+        return breaks;
+    }
+
+    // Number of syllables: one per letter run plus its breaks, and at least one for any token
+    public static int count(String token) {
+        int runs = 0;
+        boolean inRun = false;
+        for (int i = 0; i < token.length(); i++) {
+            boolean letter = Character.isLetter(token.charAt(i));
+            if (letter && !inRun) {
+                runs++;
+            }
+            inRun = letter;
+        }
+        return Math.max(1, runs + breaks(token).length);
+    }
+
+    private static int[] runBreaks(String word) {
+        if (word.length() < 4) {
+            return NONE;
+        }
+        int[] nuclei = nuclei(word);
+        int count = nuclei.length / 2;
+        if (count < 2) {
+            return NONE;
+        }
+        int[] breaks = new int[count - 1];
+        for (int n = 1; n < count; n++) {
+            breaks[n - 1] = split(word, nuclei[2 * (n - 1) + 1], nuclei[2 * n]);
+        }
+        // Consonant + le takes the consonant along: ta-ble, lit-tle
+        int last = word.length();
+        if (word.endsWith("le") && nuclei[nuclei.length - 2] == last - 1 && !isVowel(word, last - 3)) {
+            breaks[breaks.length - 1] = last - 3;
+        }
+        return breaks;
+    }
+
+    // Where the consonant run [from, to) between two nuclei is divided
+    private static int split(String word, int from, int to) {
+        int length = to - from;
+        if (length <= 1) {
+            return from; // V-CV: ho-tel, or adjacent nuclei
+        }
+        String lastTwo = word.substring(to - 2, to);
+        if (length == 2) {
+            if (lastTwo.equals("ck") || lastTwo.equals("ng")) {
+                return to; // pock-et, sing-er
+            }
+            return DIGRAPHS.contains(lastTwo) ? from : from + 1; // ma-chine, hap-pen
+        }
+        // Three or more: keep a final onset cluster with the next syllable (ham-ster, ex-tra)
+        return ONSETS.contains(lastTwo) ? to - 2 : to - 1;
+    }
+
+    // Start and end (exclusive) of each vowel group that forms a syllable, flattened
+    private static int[] nuclei(String word) {
+        int[] groups = new int[word.length() * 2];
+        int size = 0;
+        int i = 0;
+        while (i < word.length()) {
+            if (isVowel(word, i)) {
+                int start = i;
+                while (i < word.length() && isVowel(word, i)) {
+                    i++;
+                }
+                groups[size++] = start;
+                groups[size++] = i;
+            } else {
+                i++;
+            }
+        }
+        if (size >= 4 && silentEnding(word, groups[size - 2])) {
+            size -= 2;
+        }
+        return Arrays.copyOf(groups, size);
+    }
+
+    // Final -e, -es and -ed that do not form a syllable: make, makes, jumped (but table, wanted, boxes)
+    private static boolean silentEnding(String word, int lastNucleus) {
+        int n = word.length();
+        if (lastNucleus == n - 1 && word.charAt(n - 1) == 'e') {
+            // Consonant + le is its own syllable: ta-ble
+            return !(n >= 3 && word.charAt(n - 2) == 'l' && !isVowel(word, n - 3));
+        }
+        if (lastNucleus == n - 2 && word.charAt(n - 2) == 'e') {
+            char last = word.charAt(n - 1);
+            char before = word.charAt(n - 3);
+            if (last == 'd') {
+                return before != 't' && before != 'd';
+            }
+            if (last == 's') {
+                return "sxzgc".indexOf(before) < 0 && !word.endsWith("ches") && !word.endsWith("shes");
+            }
+        }
+        return false;
+    }
+
+    // y is a vowel except at the start of the word or right after another vowel
+    private static boolean isVowel(String word, int i) {
+        char c = word.charAt(i);
+        if ("aeiou".indexOf(c) >= 0) {
+            return true;
+        }
+        return c == 'y' && i > 0 && "aeiou".indexOf(word.charAt(i - 1)) < 0;
+    }
+}
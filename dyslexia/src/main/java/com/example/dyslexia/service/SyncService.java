@@ -0,0 +1,95 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.ChangeLogEntry;
+import com.example.dyslexia.model.SyncChanges;
+import com.example.dyslexia.model.TextSummary;
+import com.example.dyslexia.model.UserPreferences;
+import com.example.dyslexia.repository.TextRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Incremental sync: a client keeps the cursor of its last sync and receives only the texts
+// and preferences that changed since, so a refresh costs in proportion to the change, not to
+// the library. Cursors are opaque to clients.
+@Service
+public class SyncService {
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Autowired
+    private TextRepository textRepository;
+
+    @Autowired
+    private UserPreferencesService userPreferencesService;
+
+    @Value("${dyslexia.sync.page-size:500}")
+    private int pageSize;
+
+    // Changes since the cursor; a missing or expired cursor yields a reset with a fresh cursor
+    public SyncChanges changesSince(String username, String since) {
+        Instant readAt = Instant.now();
+        if (since == null) {
+            return SyncChanges.reset(encodeCursor(changeLog.lastId(), readAt));
+        }
+        String[] position = decodeCursor(since).split(":", 2);
+        if (position.length != 2) {
+            throw new IllegalArgumentException("Malformed sync cursor");
+        }
+        long afterId = Long.parseLong(position[0]);
+        Instant issuedAt = Instant.ofEpochMilli(Long.parseLong(position[1]));
+        if (!changeLog.canContinueFrom(issuedAt)) {
+            return SyncChanges.reset(encodeCursor(changeLog.lastId(), readAt));
+        }
+
+        List<ChangeLogEntry> entries = changeLog.read(username, afterId, pageSize + 1);
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+
+        Set<Long> changedTexts = new LinkedHashSet<>();
+        List<Long> deletedTexts = new ArrayList<>();
+        boolean preferencesChanged = false;
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getKind() == ChangeLogEntry.Kind.PREFERENCES) {
+                preferencesChanged = true;
+            } else if (entry.getOperation() == ChangeLogEntry.Operation.DELETE) {
+                deletedTexts.add(entry.getEntityId());
+            } else {
+                changedTexts.add(entry.getEntityId());
+            }
+        }
+        List<TextSummary> texts = changedTexts.isEmpty()
+                ? List.of()
+                : textRepository.findSummariesByIds(username, changedTexts);
+        UserPreferences preferences = preferencesChanged ? userPreferencesService.getUserPreferences(username) : null;
+
+        // Every entry committed after the new cursor's time has a larger id. With more pages
+        // waiting that only holds from the last returned entry's time on.
+        String cursor = entries.isEmpty()
+                ? encodeCursor(afterId, readAt)
+                : encodeCursor(entries.get(entries.size() - 1).getId(),
+                        hasMore ? entries.get(entries.size() - 1).getChangedAt() : readAt);
+        return new SyncChanges(cursor, false, hasMore, texts, deletedTexts, preferences);
+    }
+
+    // Cursor positions are "<last entry id>:<issued at, epoch millis>"
+    private static String encodeCursor(long lastId, Instant issuedAt) {
+        String position = lastId + ":" + issuedAt.toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
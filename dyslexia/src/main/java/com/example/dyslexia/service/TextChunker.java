@@ -0,0 +1,81 @@
+package com.example.dyslexia.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+// Splits a character stream into pieces of at most chunkChars characters without holding
+// more than one piece. Pieces end on whitespace so no word straddles two chunks; only a
+// single token longer than a whole chunk is cut, and its parts then count as separate words.
+public class TextChunker {
+
+    public interface ChunkSink {
+        void accept(int seq, int firstWord, int wordCount, String content) throws IOException;
+    }
+
+    public record Result(int chunkCount, int wordCount) {
+    }
+
+    private final int chunkChars;
+
+    public TextChunker(int chunkChars) {
+        if (chunkChars < 2) {
+            throw new IllegalArgumentException("Chunk size must be at least 2 characters");
+        }
+        this.chunkChars = chunkChars;
+    }
+
+    public Result split(Reader reader, ChunkSink sink) throws IOException {
+        char[] buffer = new char[chunkChars];
+        int filled = 0;
+        int seq = 0;
+        int words = 0;
+        int read;
+        while ((read = reader.read(buffer, filled, chunkChars - filled)) != -1) {
+            filled += read;
+            if (filled == chunkChars) {
+                int end = splitPoint(buffer, filled);
+                int count = countWords(buffer, 0, end);
+                sink.accept(seq++, words, count, new String(buffer, 0, end));
+                words += count;
+                filled -= end;
+                System.arraycopy(buffer, end, buffer, 0, filled);
+            }
+        }
+        if (filled > 0) {
+            int count = countWords(buffer, 0, filled);
+            sink.accept(seq++, words, count, new String(buffer, 0, filled));
+            words += count;
+        }
+        return new Result(seq, words);
+    }
+
+    // Number of whitespace-separated words starting in the given range
+    public static int countWords(CharSequence text) {
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean whitespace = Character.isWhitespace(text.charAt(i));
+            if (!whitespace && !inWord) {
+                count++;
+            }
+            inWord = !whitespace;
+        }
+        return count;
+    }
+
+    private static int countWords(char[] buffer, int from, int to) {
+        return countWords(CharBuffer.wrap(buffer, from, to - from));
+    }
+
+    // End the chunk just after its last whitespace, falling back to a hard cut
+    private static int splitPoint(char[] buffer, int filled) {
+        for (int i = filled - 1; i > 0; i--) {
+            if (Character.isWhitespace(buffer[i])) {
+                return i + 1;
+            }
+        }
+        // Never split a surrogate pair across two chunks
+        return Character.isHighSurrogate(buffer[filled - 1]) ? filled - 1 : filled;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.dyslexia.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.tika.detect.DefaultDetector;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.parser.epub.EpubParser;
+import org.apache.tika.parser.html.JSoupParser;
+import org.apache.tika.parser.microsoft.OfficeParser;
+import org.apache.tika.parser.microsoft.ooxml.OOXMLParser;
+import org.apache.tika.parser.odf.OpenDocumentParser;
+import org.apache.tika.parser.pdf.PDFParser;
+import org.apache.tika.parser.rtf.RTFParser;
+import org.apache.tika.parser.txt.TXTParser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.xml.sax.SAXException;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Apache Tika wrapper that streams extracted text instead of building one String.
+// Only the parsers for allowed MIME types are created (never Tika's whole service-loaded
+// parser graph), and they are reused through a small pool together with their ParseContext.
+@Component
+public class TextExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(TextExtractor.class);
+
+    private static final String PDF = "application/pdf";
+
+    // Every type a parser is wired for; dyslexia.extraction.allowed-types picks from these
+    private static final Map<String, Supplier<Parser>> PARSERS = new LinkedHashMap<>();
+
+    static {
+        PARSERS.put("text/plain", TXTParser::new);
+        PARSERS.put(PDF, PDFParser::new);
+        PARSERS.put("application/epub+zip", EpubParser::new);
+        PARSERS.put("application/vnd.openxmlformats-officedocument.wordprocessingml.document", OOXMLParser::new);
+        PARSERS.put("application/msword", OfficeParser::new);
+        PARSERS.put("application/rtf", RTFParser::new);
+        PARSERS.put("application/vnd.oasis.opendocument.text", OpenDocumentParser::new);
+        PARSERS.put("text/html", JSoupParser::new);
+    }
+
+    // A parser restricted to the allowed types and its context; used by one parse at a time
+    private record PooledParser(Parser parser, ParseContext context) {
+    }
+
+    private final Detector detector = new DefaultDetector();
+    private final Set<String> allowedTypes;
+    private final BlockingQueue<PooledParser> idleParsers;
+    private final MeterRegistry meterRegistry;
+    private final PdfTextExtractor pdfExtractor;
+
+    @Autowired
+    public TextExtractor(MeterRegistry meterRegistry, PdfTextExtractor pdfExtractor,
+                         @Value("${dyslexia.extraction.allowed-types:}") Set<String> allowedTypes,
+                         @Value("${dyslexia.extraction.parser-pool-size:4}") int parserPoolSize) {
+        this.meterRegistry = meterRegistry;
+        this.pdfExtractor = pdfExtractor;
+        this.allowedTypes = new TreeSet<>(allowedTypes.isEmpty() ? PARSERS.keySet() : allowedTypes);
+        for (String type : this.allowedTypes) {
+            if (!PARSERS.containsKey(type)) {
+                throw new IllegalArgumentException("No parser for " + type + ", supported types are " + PARSERS.keySet());
+            }
+        }
+        this.idleParsers = new ArrayBlockingQueue<>(Math.max(1, parserPoolSize));
+    }
+
+    // For use outside the application context, e.g. benchmarks; metrics go nowhere. The caller
+    // owns the PDF extractor and closes it, so its thread pool never outlives the work.
+    public TextExtractor(PdfTextExtractor pdfExtractor) {
+        this(new SimpleMeterRegistry(), pdfExtractor, Set.of(), 4);
+    }
+
+    public Set<String> getAllowedTypes() {
+        return allowedTypes;
+    }
+
+    // Detect the file's type from its leading bytes and name; throws when it is not allowed
+    public String checkSupported(Path file) throws IOException {
+        Metadata metadata = new Metadata();
+        try (TikaInputStream input = TikaInputStream.get(file, metadata)) {
+            return detect(input, metadata);
+        }
+    }
+
+    // Extract a file on disk. PDFs go to the parallel PDFBox engine, everything else through Tika.
+    public void extract(Path file, Writer output) throws IOException {
+        Metadata metadata = new Metadata();
+        try (TikaInputStream input = TikaInputStream.get(file, metadata)) {
+            String type = detect(input, metadata);
+            if (!PDF.equals(type)) {
+                extract(input, type, output);
+                return;
+            }
+        }
+
+        CountingWriter counted = new CountingWriter(output);
+        String outcome = "failure";
+        long start = System.nanoTime();
+        try {
+            pdfExtractor.extract(file, counted);
+            outcome = "success";
+        } finally {
+            record(PDF, outcome, System.nanoTime() - start, counted.count);
+        }
+    }
+
+    // Write the document's text to the writer as the parser produces it, with no length limit.
+    // Parse time and extracted characters are recorded per detected MIME type.
+    public void extract(InputStream input, Writer output) throws IOException {
+        try (TikaInputStream stream = TikaInputStream.get(input)) {
+            extract(stream, detect(stream, new Metadata()), output);
+        }
+    }
+
+    public String extract(InputStream input) throws IOException {
+        StringWriter writer = new StringWriter();
+        extract(input, writer);
+        return writer.toString();
+    }
+
+    // Parse a tiny sample of each allowed type so class loading, static tables and PDFBox font
+    // setup happen before the first upload instead of during it, then fill the parser pool.
+    // Nothing is recorded in the extraction metrics.
+    public void warmUp() {
+        for (String type : allowedTypes) {
+            try {
+                byte[] sample = ExtractionSamples.sample(type);
+                if (sample == null) {
+                    continue;
+                }
+                try (TikaInputStream stream = TikaInputStream.get(sample)) {
+                    parse(stream, type, Writer.nullWriter());
+                }
+                if (PDF.equals(type)) {
+                    pdfExtractor.warmUp(sample);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Only means the first real upload of this type pays the start-up cost
+                log.warn("Extraction warm-up for {} failed", type, e);
+            }
+        }
+        List<PooledParser> created = new ArrayList<>();
+        for (int i = idleParsers.remainingCapacity(); i > 0; i--) {
+            created.add(newPooledParser());
+        }
+        created.forEach(idleParsers::offer);
+    }
+
+    private void extract(TikaInputStream stream, String type, Writer output) throws IOException {
+        CountingWriter counted = new CountingWriter(output);
+        String outcome = "failure";
+        long start = System.nanoTime();
+        try {
+            parse(stream, type, counted);
+            outcome = "success";
+        } finally {
+            record(type, outcome, System.nanoTime() - start, counted.count);
+        }
+    }
+
+    private void parse(TikaInputStream stream, String type, Writer output) throws IOException {
+        Metadata metadata = new Metadata();
+        metadata.set(Metadata.CONTENT_TYPE, type);
+        PooledParser pooled = borrowParser();
+        try {
+            pooled.parser().parse(stream, new BodyContentHandler(output), metadata, pooled.context());
+        } catch (SAXException | TikaException e) {
+            throw new IOException("Failed to extract text from file.", e);
+        } finally {
+            // Dropped when the pool is already full
+            idleParsers.offer(pooled);
+        }
+    }
+
+    // Base type without parameters such as charset, rejected unless it is on the allow-list
+    private String detect(TikaInputStream stream, Metadata metadata) throws IOException {
+        String type = detector.detect(stream, metadata).getBaseType().toString();
+        if (!allowedTypes.contains(type)) {
+            throw new UnsupportedDocumentTypeException(type);
+        }
+        return type;
+    }
+
+    // Parsers waiting for the next parse; never more than the pool size
+    int idleParserCount() {
+        return idleParsers.size();
+    }
+
+    private PooledParser borrowParser() {
+        PooledParser pooled = idleParsers.poll();
+        return pooled != null ? pooled : newPooledParser();
+    }
+
+    private PooledParser newPooledParser() {
+        List<Parser> parsers = new ArrayList<>();
+        for (String type : allowedTypes) {
+            parsers.add(PARSERS.get(type).get());
+        }
+        Parser parser = new AutoDetectParser(detector, parsers.toArray(new Parser[0]));
+        ParseContext context = new ParseContext();
+        // Embedded documents go through the same restricted parser
+        context.set(Parser.class, parser);
+        return new PooledParser(parser, context);
+    }
+
+    private void record(String mime, String outcome, long nanos, long chars) {
+        Timer.builder("dyslexia.extraction.parse")
+                .tag("mime", mime)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("dyslexia.extraction.chars")
+                .tag("mime", mime)
+                .baseUnit("characters")
+                .register(meterRegistry)
+                .record(chars);
+    }
+
+    private static class CountingWriter extends FilterWriter {
+        long count;
+
+        CountingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            out.write(c);
+            count++;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            out.write(cbuf, off, len);
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            out.write(str, off, len);
+            count += len;
+        }
+
+        // The caller owns the underlying writer
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.Text;
+import com.example.dyslexia.model.TextRendition;
+import com.example.dyslexia.repository.TextRenditionRepository;
+import com.example.dyslexia.repository.TextRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Stored, pre-compressed JSON bodies of whole texts. Each text is rendered once, at ingestion or
+// on its first request, with the same ObjectMapper the controllers use; afterwards requests
+// copy the stored gzip bytes and never serialize or compress the text again. Rendering and
+// serving both stream, so heap use does not grow with the size of the text.
+// Only gzip is stored: the JDK has no Brotli encoder, and Brotli would need native bindings
+// built for each server platform.
+@Service
+public class TextRenditionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TextRenditionService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String INSERT_PART = "insert into text_rendition_part (text_id, seq, data) values (?, ?, ?)";
+    private static final String SELECT_PART = "select data from text_rendition_part where text_id = ? and seq = ?";
+
+    @Autowired
+    private TextRenditionRepository renditionRepository;
+
+    @Autowired
+    private TextRepository textRepository;
+
+    @Autowired
+    private TextService textService;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Texts waiting for a background render; beyond this they are rendered on first request
+    @Value("${dyslexia.renditions.background-queue:1000}")
+    private int backgroundQueue;
+
+    // Stored gzip bytes per row; rendering or serving a large text holds one part at a time
+    @Value("${dyslexia.renditions.part-size:256KB}")
+    private DataSize partSize;
+
+    // Own single thread, so background renders never take room from ingestion pools
+    private ThreadPoolExecutor renderer;
+
+    @PostConstruct
+    void start() {
+        renderer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(backgroundQueue),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rendition-prepare");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        renderer.shutdownNow();
+    }
+
+    // The stored rendition, rendered now if the text has none yet. Empty when the text does not exist.
+    public Optional<TextRendition> get(Long textId) {
+        Optional<TextRendition> stored = renditionRepository.findLiveByTextId(textId);
+        if (stored.isPresent()) {
+            return stored;
+        }
+        return textService.getStoredText(textId).map(this::render);
+    }
+
+    // Hash of the stored rendition without loading its body
+    public Optional<String> getContentHash(Long textId) {
+        return renditionRepository.findContentHashByTextId(textId);
+    }
+
+    // Renders a freshly saved text ahead of its first request; failures leave it to the first request
+    public void prepare(Long textId) {
+        try {
+            if (!renditionRepository.existsById(textId)) {
+                textService.getStoredText(textId).ifPresent(this::render);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not pre-render text {}", textId, e);
+        }
+    }
+
+    // Queues texts for prepare() on the background renderer; when its queue is full the rest
+    // are left to their first request
+    public void prepareInBackground(List<Long> textIds) {
+        for (int i = 0; i < textIds.size(); i++) {
+            Long id = textIds.get(i);
+            try {
+                renderer.execute(() -> prepare(id));
+            } catch (RejectedExecutionException e) {
+                log.debug("Rendition queue full, {} text(s) left to their first request", textIds.size() - i);
+                return;
+            }
+        }
+    }
+
+    // The stored gzip body, read back one part at a time
+    public InputStream gzip(TextRendition rendition) {
+        return new PartInputStream(rendition);
+    }
+
+    // The uncompressed JSON, for clients that do not accept gzip
+    public InputStream identity(TextRendition rendition) {
+        try {
+            return new GZIPInputStream(gzip(rendition), BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Compressed into a temporary file first, so no connection is held while rendering
+    private TextRendition render(Text text) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("rendition-", ".json.gz");
+            MessageDigest digest = sha256();
+            long length;
+            try (CountingOutputStream json = new CountingOutputStream(new DigestOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(file), BUFFER_SIZE) {
+                        {
+                            // Compressed once and read many times, so the densest level pays off
+                            def.setLevel(Deflater.BEST_COMPRESSION);
+                        }
+                    }, digest))) {
+                writeBody(json, text);
+                length = json.count;
+            }
+
+            TextRendition rendition = new TextRendition();
+            rendition.setContentHash(HexFormat.of().formatHex(digest.digest()));
+            rendition.setIdentityLength(length);
+            rendition.setGzipLength(Files.size(file));
+            rendition.setCreatedAt(Instant.now());
+            return store(text.getId(), rendition, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete rendition file {}", file, e);
+                }
+            }
+        }
+    }
+
+    // The text's own fields and its owner's id. The owner's account is left out: it can change,
+    // and the stored body cannot. The content is copied from storage a few chunks at a time.
+    private void writeBody(OutputStream out, Text text) throws IOException {
+        try (JsonGenerator json = objectMapper.createGenerator(out);
+             Reader content = contentStore.reader(text.getBlobId())) {
+            json.writeStartObject();
+            json.writePOJOField("id", text.getId());
+            json.writePOJOField("title", text.getTitle());
+            json.writePOJOField("sizeBytes", text.getSizeBytes());
+            json.writePOJOField("createdAt", text.getCreatedAt());
+            json.writePOJOField("preview", text.getPreview());
+            json.writeFieldName("content");
+            json.writeString(content, -1);
+            json.writePOJOField("wordCount", text.getWordCount());
+            json.writePOJOField("userId", text.getUser().getId());
+            json.writeEndObject();
+        }
+    }
+
+    // The first part goes into the rendition row, the rest into part rows, all in one transaction
+    private TextRendition store(Long textId, TextRendition rendition, Path file) throws IOException {
+        try (InputStream gzip = Files.newInputStream(file)) {
+            int partBytes = (int) partSize.toBytes();
+            rendition.setHead(gzip.readNBytes(partBytes));
+            return transactionTemplate.execute(status -> {
+                rendition.setText(textRepository.getReferenceById(textId));
+                TextRendition saved = renditionRepository.saveAndFlush(rendition);
+                try {
+                    byte[] part;
+                    for (int seq = 1; (part = gzip.readNBytes(partBytes)).length > 0; seq++) {
+                        jdbcTemplate.update(INSERT_PART, textId, seq, part);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Rendered concurrently by another request, or the text was deleted meanwhile
+            return renditionRepository.findLiveByTextId(textId).orElse(rendition);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The head, then each further part as the previous one is used up
+    private class PartInputStream extends InputStream {
+        private final Long textId;
+        private long remaining;
+        private byte[] part;
+        private int position;
+        private int nextSeq = 1;
+
+        PartInputStream(TextRendition rendition) {
+            this.textId = rendition.getTextId();
+            this.part = rendition.getHead();
+            this.remaining = rendition.getGzipLength() - part.length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? part[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, part.length - position);
+            System.arraycopy(part, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() throws IOException {
+            while (position == part.length) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    part = jdbcTemplate.queryForObject(SELECT_PART, byte[].class, textId, nextSeq++);
+                } catch (DataAccessException e) {
+                    // Purged while it was being sent
+                    throw new IOException("Rendition of text " + textId + " is no longer stored", e);
+                }
+                position = 0;
+                remaining -= part.length;
+            }
+            return true;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
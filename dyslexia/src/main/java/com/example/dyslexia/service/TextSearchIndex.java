@@ -0,0 +1,207 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.SearchHit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index of texts, partitioned per user.
+// A term is a whitespace-separated word with surrounding punctuation stripped, lower-cased,
+// so word offsets line up with the word numbering used by TextChunker and the range API.
+@Component
+public class TextSearchIndex {
+
+    // Offsets kept per (term, text) for highlighting; the match count is always exact
+    private static final int MAX_OFFSETS_PER_POSTING = 64;
+
+    private final ConcurrentHashMap<String, UserIndex> users = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, String> owners = new ConcurrentHashMap<>();
+    // Texts removed while the startup rebuild runs; it may have read them before they were
+    // deleted, so putting one of them removes it again. Ids are never reused.
+    private final Set<Long> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    // Postings of a single text, built while its chunks are written
+    public static class Document {
+        private final Map<String, Posting> postings = new HashMap<>();
+
+        public void addChunk(int firstWord, String content) {
+            int word = firstWord - 1;
+            int start = -1;
+            for (int i = 0; i <= content.length(); i++) {
+                boolean whitespace = i == content.length() || Character.isWhitespace(content.charAt(i));
+                if (!whitespace && start < 0) {
+                    start = i;
+                    word++;
+                } else if (whitespace && start >= 0) {
+                    String term = normalize(content.substring(start, i));
+                    if (term != null) {
+                        postings.computeIfAbsent(term, t -> new Posting()).add(word);
+                    }
+                    start = -1;
+                }
+            }
+        }
+    }
+
+    private static class Posting {
+        private int count;
+        private int size;
+        private int[] offsets = new int[2];
+
+        void add(int offset) {
+            count++;
+            if (size < MAX_OFFSETS_PER_POSTING) {
+                if (size == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, Math.min(size * 2, MAX_OFFSETS_PER_POSTING));
+                }
+                offsets[size++] = offset;
+            }
+        }
+    }
+
+    private static class UserIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Map<Long, Posting>> terms = new HashMap<>();
+        private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    }
+
+    // Add or replace a text's postings
+    public void put(String username, Long textId, Document document) {
+        removePostings(textId);
+        UserIndex index = users.computeIfAbsent(username, u -> new UserIndex());
+        index.lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, Posting> entry : document.postings.entrySet()) {
+                index.terms.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(textId, entry.getValue());
+            }
+            index.documentTerms.put(textId, document.postings.keySet());
+            owners.put(textId, username);
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+        if (rebuilding && removedDuringRebuild.contains(textId)) {
+            removePostings(textId);
+        }
+    }
+
+    public void remove(Long textId) {
+        if (rebuilding) {
+            removedDuringRebuild.add(textId);
+        }
+        removePostings(textId);
+    }
+
+    // Called around the startup rebuild, so removals it raced with are applied again
+    public void startRebuild() {
+        rebuilding = true;
+    }
+
+    public void finishRebuild() {
+        rebuilding = false;
+        removedDuringRebuild.clear();
+    }
+
+    private void removePostings(Long textId) {
+        String username = owners.remove(textId);
+        UserIndex index = username != null ? users.get(username) : null;
+        if (index == null) {
+            return;
+        }
+        index.lock.writeLock().lock();
+        try {
+            Set<String> documentTerms = index.documentTerms.remove(textId);
+            if (documentTerms != null) {
+                for (String term : documentTerms) {
+                    Map<Long, Posting> postings = index.terms.get(term);
+                    postings.remove(textId);
+                    if (postings.isEmpty()) {
+                        index.terms.remove(term);
+                    }
+                }
+            }
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(Long textId) {
+        return owners.containsKey(textId);
+    }
+
+    // Texts of the user containing every term of the query, most matches first
+    public List<SearchHit> search(String username, String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        for (String token : query.split("\\s+")) {
+            String term = normalize(token);
+            if (term != null) {
+                queryTerms.add(term);
+            }
+        }
+        UserIndex index = users.get(username);
+        if (index == null || queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        index.lock.readLock().lock();
+        try {
+            List<Map<Long, Posting>> postingLists = new ArrayList<>();
+            for (String term : queryTerms) {
+                Map<Long, Posting> postings = index.terms.get(term);
+                if (postings == null) {
+                    return List.of();
+                }
+                postingLists.add(postings);
+            }
+            // Drive the intersection from the rarest term
+            postingLists.sort(Comparator.comparingInt(Map::size));
+
+            List<SearchHit> hits = new ArrayList<>();
+            candidates:
+            for (Long textId : postingLists.get(0).keySet()) {
+                int matchCount = 0;
+                int[] offsets = new int[0];
+                for (Map<Long, Posting> postings : postingLists) {
+                    Posting posting = postings.get(textId);
+                    if (posting == null) {
+                        continue candidates;
+                    }
+                    matchCount += posting.count;
+                    int merged = offsets.length;
+                    offsets = Arrays.copyOf(offsets, merged + posting.size);
+                    System.arraycopy(posting.offsets, 0, offsets, merged, posting.size);
+                }
+                Arrays.sort(offsets);
+                hits.add(new SearchHit(textId, matchCount, offsets));
+            }
+            hits.sort(Comparator.comparingInt(SearchHit::getMatchCount).reversed());
+            return hits.size() > limit ? hits.subList(0, limit) : hits;
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cased word with leading and trailing punctuation removed, or null if nothing is left
+    static String normalize(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && !Character.isLetterOrDigit(token.charAt(start))) {
+            start++;
+        }
+        while (end > start && !Character.isLetterOrDigit(token.charAt(end - 1))) {
+            end--;
+        }
+        return start < end ? token.substring(start, end).toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -1,74 +1,540 @@
 package com.example.dyslexia.service;
 
+import com.example.dyslexia.model.ChangeLogEntry;
+import com.example.dyslexia.model.ContentBlob;
+import com.example.dyslexia.model.Readability;
+import com.example.dyslexia.model.SearchHit;
 import com.example.dyslexia.model.Text;
-import com.example.dyslexia.model.User;
+import com.example.dyslexia.model.TextAnnotations;
+import com.example.dyslexia.model.TextChunk;
+import com.example.dyslexia.model.TextRange;
+import com.example.dyslexia.model.TextSummary;
+import com.example.dyslexia.model.TextSummaryPage;
 import com.example.dyslexia.repository.TextRepository;
 import com.example.dyslexia.repository.UserRepository; // Change to UserRepository
-import org.apache.tika.Tika;
-import org.apache.tika.exception.TikaException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 @Service
 public class TextService {
 
-    private final Tika tika = new Tika(); // Apache Tika instance
+    private static final Logger log = LoggerFactory.getLogger(TextService.class);
+
+    private static final int INDEX_BATCH_SIZE = 100;
+    private static final int SEARCH_RESULT_LIMIT = 50;
+    private static final String INSERT_TEXT = "insert into text (title, size_bytes, created_at, preview, blob_id, "
+            + "raw_hash, word_count, user_id) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // A batch document whose content is stored but whose Text row is not written yet
+    record PendingText(String title, long sizeBytes, String rawHash, ContentBlob blob,
+                       TextSearchIndex.Document document) {
+    }
+
+    // Result of store(): what `link` returned, and postings unless the content was shared
+    private record Stored<T>(T linked, TextSearchIndex.Document document) {
+    }
+
+    @Autowired
+    private TextExtractor textExtractor;
 
     @Autowired
     private TextRepository textRepository;
 
+    @Autowired
+    private ContentStore contentStore;
+
     @Autowired
     private UserRepository userRepository; // Inject UserRepository instead of UserPreferencesRepository
 
+    @Autowired
+    private UserIdentityService userIdentityService;
+
+    @Autowired
+    private TextSearchIndex searchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadingProgressService readingProgressService;
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Serializes legacy conversions. A lock rather than synchronized, which would pin a
+    // virtual thread's carrier for the whole database round trip
+    private final ReentrantLock legacyConversionLock = new ReentrantLock();
+
+    @Value("${dyslexia.ingestion.spill-threshold-chars:1048576}")
+    private int spillThresholdChars;
+
     // Extract text from the uploaded file
     public String extractText(MultipartFile file) throws IOException {
+        return extractText(file.getInputStream());
+    }
+
+    public String extractText(InputStream input) throws IOException {
+        return textExtractor.extract(input);
+    }
+
+    // Save extracted text from a spooled upload, linked to a user.
+    // Uploads whose bytes or normalized text were seen before share the stored content;
+    // otherwise extraction streams through a spilling buffer and is stored chunk by chunk,
+    // so heap use does not grow with the document size.
+    public Text saveText(Path file, String fileName, String username) throws IOException {
+        String rawHash = ContentHashes.sha256(file);
+        String title = titleFromFileName(fileName);
+        long sizeBytes = Files.size(file);
+
+        // Find or create user; texts only need the id
+        Long userId = userIdentityService.idForUsername(username);
+
+        Stored<Text> stored = store(file, rawHash, blob -> linkBlob(title, sizeBytes, rawHash, userId, blob));
+        Text saved = stored.linked();
+        index(username, saved.getId(), saved.getBlobId(), stored.document());
+        changeLog.record(username, ChangeLogEntry.Kind.TEXT, saved.getId(), ChangeLogEntry.Operation.UPSERT);
+        return saved;
+    }
+
+    // Extract and store one document of a batch, holding a reference on its content until the
+    // Text row is written by saveBatch
+    PendingText storeContent(Path file, String fileName) throws IOException {
+        String rawHash = ContentHashes.sha256(file);
+        long sizeBytes = Files.size(file);
+        Stored<ContentBlob> stored = store(file, rawHash, blob -> blob);
+        return new PendingText(titleFromFileName(fileName), sizeBytes, rawHash, stored.linked(), stored.document());
+    }
+
+    // Write the Text rows of a batch with one JDBC batch insert and return their ids in order.
+    // If the insert fails, the content references taken by storeContent are dropped again.
+    List<Long> saveBatch(String username, List<PendingText> pending) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        Long userId = userIdentityService.idForUsername(username);
+        List<Long> ids;
         try {
-            return tika.parseToString(file.getInputStream());
-        } catch (TikaException e) {
-            throw new IOException("Failed to extract text from file.", e);
+            ids = transactionTemplate.execute(status -> insertTexts(userId, pending));
+        } catch (RuntimeException e) {
+            pending.forEach(text -> contentStore.release(text.blob().getId()));
+            throw e;
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            index(username, ids.get(i), pending.get(i).blob().getId(), pending.get(i).document());
         }
+        changeLog.recordAll(username, ChangeLogEntry.Kind.TEXT, ids, ChangeLogEntry.Operation.UPSERT);
+        return ids;
     }
 
-    // Save extracted text linked to a user
-    public Text saveText(MultipartFile file, String username) throws IOException {
-        String extractedText = extractText(file);
+    // Drop the content reference of a batch document that will not be saved
+    void discard(PendingText pending) {
+        contentStore.release(pending.blob().getId());
+    }
 
-        // Find or create user
-        Optional<User> userOpt = userRepository.findByUsername(username); // Changed to use UserRepository
-        User user = userOpt.orElseGet(() -> {
-            User newUser = new User();
-            newUser.setUsername(username);
-            return userRepository.save(newUser); // Save new user if not found
-        });
+    private List<Long> insertTexts(Long userId, List<PendingText> pending) {
+        Instant now = Instant.now();
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_TEXT, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        PendingText text = pending.get(i);
+                        statement.setString(1, text.title());
+                        statement.setLong(2, text.sizeBytes());
+                        statement.setObject(3, now.atOffset(ZoneOffset.UTC));
+                        statement.setString(4, text.blob().getPreview());
+                        statement.setLong(5, text.blob().getId());
+                        statement.setString(6, text.rawHash());
+                        statement.setInt(7, text.blob().getWordCount());
+                        statement.setLong(8, userId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return pending.size();
+                    }
+                }, keys);
+        return keys.getKeyList().stream()
+                .map(row -> ((Number) row.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    // Shared content for a file: reuse by raw hash, else extract and reuse by text hash or create.
+    // `link` runs in the transaction that takes the content reference.
+    private <T> Stored<T> store(Path file, String rawHash, Function<ContentBlob, T> link) throws IOException {
+        // Same file uploaded before: reuse its content without running Tika
+        T reused = transactionTemplate.execute(status -> textRepository.findFirstByRawHashAndBlobIdNotNull(rawHash)
+                .flatMap(existing -> contentStore.acquire(existing.getBlobId()))
+                .map(link)
+                .orElse(null));
+        if (reused != null) {
+            return new Stored<>(reused, null);
+        }
+
+        try (SpillingTextBuffer buffer = new SpillingTextBuffer(spillThresholdChars)) {
+            ContentHashes.NormalizedTextDigest digest = new ContentHashes.NormalizedTextDigest(buffer.writer());
+            textExtractor.extract(file, digest);
+            String textHash = digest.hex();
+
+            for (int attempt = 1; ; attempt++) {
+                TextSearchIndex.Document document = new TextSearchIndex.Document();
+                boolean[] shared = {false};
+                try (Reader reader = buffer.reader()) {
+                    T linked = transactionTemplate.execute(status -> {
+                        ContentBlob blob = contentStore.acquireByTextHash(textHash)
+                                .map(existing -> {
+                                    shared[0] = true;
+                                    return existing;
+                                })
+                                .orElseGet(() -> contentStore.create(reader, textHash, document));
+                        return link.apply(blob);
+                    });
+                    return new Stored<>(linked, shared[0] ? null : document);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                } catch (DataIntegrityViolationException e) {
+                    // A concurrent upload stored the same text first; share its blob instead
+                    if (attempt >= 2) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
 
+    // Postings collected while storing new content, or read back from shared content
+    private void index(String username, Long textId, Long blobId, TextSearchIndex.Document document) {
+        if (document != null) {
+            searchIndex.put(username, textId, document);
+        } else {
+            indexStoredText(username, textId, blobId);
+        }
+    }
+
+    // Save a Text row pointing at stored content; runs inside a transaction
+    private Text linkBlob(String title, long sizeBytes, String rawHash, Long userId, ContentBlob blob) {
         // Save text in the database, linking it to the user
         Text textEntry = new Text();
-        textEntry.setContent(extractedText);
-        textEntry.setUser(user); // Link text to the user
+        textEntry.setTitle(title);
+        textEntry.setSizeBytes(sizeBytes);
+        textEntry.setCreatedAt(Instant.now());
+        textEntry.setRawHash(rawHash);
+        textEntry.setBlobId(blob.getId());
+        textEntry.setWordCount(blob.getWordCount());
+        textEntry.setPreview(blob.getPreview());
+        textEntry.setUser(userRepository.getReferenceById(userId)); // Link by reference, without loading the user
         return textRepository.save(textEntry);
     }
 
+    // Convert a text stored in the single legacy content column to a blob on first use
+    private Text chunkLegacyText(Long id) {
+        legacyConversionLock.lock();
+        try {
+            return convertLegacyText(id);
+        } finally {
+            legacyConversionLock.unlock();
+        }
+    }
+
+    private Text convertLegacyText(Long id) {
+        TextSearchIndex.Document document = new TextSearchIndex.Document();
+        boolean[] convertedNow = {false};
+        Text converted = transactionTemplate.execute(status -> {
+            Text text = textRepository.findById(id).orElseThrow();
+            if (text.getBlobId() == null) {
+                String content = text.getContent() != null ? text.getContent() : "";
+                String textHash = ContentHashes.normalizedTextHash(content);
+                ContentBlob blob = contentStore.acquireByTextHash(textHash)
+                        .orElseGet(() -> contentStore.create(new StringReader(content), textHash, document));
+                text.setBlobId(blob.getId());
+                text.setWordCount(blob.getWordCount());
+                text.setPreview(blob.getPreview());
+                text.setContent(null);
+                convertedNow[0] = true;
+            }
+            return text;
+        });
+        if (convertedNow[0]) {
+            indexStoredText(converted.getUser().getUsername(), id, converted.getBlobId());
+        }
+        return converted;
+    }
+
+    private void indexStoredText(String username, Long textId, Long blobId) {
+        TextSearchIndex.Document document = new TextSearchIndex.Document();
+        contentStore.forEachChunk(blobId, chunk -> document.addChunk(chunk.getFirstWord(), chunk.getContent()));
+        searchIndex.put(username, textId, document);
+    }
+
+    // Index every stored text after startup on a background thread, so startup does not wait
+    // for it; search fills in progressively, one text at a time
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSearchIndexRebuild() {
+        Thread thread = new Thread(this::rebuildSearchIndex, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void rebuildSearchIndex() {
+        long afterId = 0;
+        searchIndex.startRebuild();
+        try {
+            List<TextRepository.TextOwner> batch;
+            do {
+                batch = textRepository.findOwnersAfter(afterId, PageRequest.of(0, INDEX_BATCH_SIZE));
+                for (TextRepository.TextOwner owner : batch) {
+                    afterId = owner.getId();
+                    if (searchIndex.contains(owner.getId())) {
+                        continue; // Saved since startup
+                    }
+                    if (owner.getBlobId() == null) {
+                        chunkLegacyText(owner.getId());
+                    } else {
+                        indexStoredText(owner.getUsername(), owner.getId(), owner.getBlobId());
+                    }
+                }
+            } while (batch.size() == INDEX_BATCH_SIZE);
+            log.info("Search index rebuilt up to text {}", afterId);
+        } catch (RuntimeException e) {
+            log.error("Search index rebuild stopped after text {}", afterId, e);
+        } finally {
+            searchIndex.finishRebuild();
+        }
+    }
+
+    // Search the user's texts; answered entirely from the in-memory index
+    public List<SearchHit> searchTexts(String username, String query) {
+        return searchIndex.search(username, query, SEARCH_RESULT_LIMIT);
+    }
+
     // Get all saved texts for a user
     public List<Text> getUserTexts(String username) {
-        return textRepository.findByUser_Username(username); // Changed to work with User
+        return textRepository.findByUser_Username(username).stream() // Changed to work with User
+                .map(this::withContent)
+                .toList();
     }
 
     // Get a single text by ID
     public Optional<Text> getTextById(Long id) {
-        return textRepository.findById(id);
+        return textRepository.findById(id).map(this::withContent);
+    }
+
+    // A text without its content, which stays in storage for ContentStore.reader; a text still
+    // in the legacy content column is converted to chunks first
+    public Optional<Text> getStoredText(Long id) {
+        return textRepository.findById(id).map(text -> text.getBlobId() != null ? text : chunkLegacyText(id));
+    }
+
+    // List a user's texts as summaries, one keyset page at a time.
+    // Sort is "newest" (default), "oldest" or "title"; cursor comes from the previous page.
+    public TextSummaryPage getUserTextSummaries(String username, String sort, int limit, String cursor) {
+        Pageable page = PageRequest.of(0, limit);
+        String position = cursor != null ? decodeCursor(cursor) : null;
+        List<TextSummary> items;
+        switch (sort) {
+            case "newest" -> items = textRepository.findSummariesNewestFirst(username,
+                    position != null ? parseCursorId(position) : Long.MAX_VALUE, page);
+            case "oldest" -> items = textRepository.findSummariesOldestFirst(username,
+                    position != null ? parseCursorId(position) : 0L, page);
+            case "title" -> items = textRepository.findSummariesByTitle(username,
+                    position != null ? position.substring(position.indexOf(':') + 1) : "",
+                    position != null ? parseCursorId(position) : 0L, page);
+            default -> throw new IllegalArgumentException("Unknown sort: " + sort);
+        }
+
+        String nextCursor = null;
+        if (items.size() == limit) {
+            TextSummary last = items.get(items.size() - 1);
+            nextCursor = encodeCursor("title".equals(sort)
+                    ? last.getId() + ":" + (last.getTitle() != null ? last.getTitle() : "")
+                    : String.valueOf(last.getId()));
+        }
+        return new TextSummaryPage(items, nextCursor);
+    }
+
+    // Get a window of words, reading only the chunks that hold them
+    public Optional<TextRange> getTextRange(Long id, int fromWord, int count) {
+        Optional<Text> found = textRepository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Text text = found.get();
+        if (text.getBlobId() == null) {
+            text = chunkLegacyText(id);
+        }
+
+        int totalWords = text.getWordCount();
+        int toWord = (int) Math.min((long) fromWord + count, totalWords);
+        List<TextChunk> chunks = fromWord < toWord
+                ? contentStore.chunksCoveringWords(text.getBlobId(), fromWord, toWord)
+                : List.of();
+        if (chunks.isEmpty()) {
+            return Optional.of(new TextRange(id, fromWord, 0, totalWords, ""));
+        }
+
+        // Walk the chunks word by word, counting the same way TextChunker did
+        StringBuilder window = new StringBuilder();
+        int word = chunks.get(0).getFirstWord() - 1;
+        int start = 0;
+        int end = -1;
+        for (TextChunk chunk : chunks) {
+            String content = chunk.getContent();
+            boolean inWord = false;
+            for (int i = 0; i < content.length() && end < 0; i++) {
+                boolean whitespace = Character.isWhitespace(content.charAt(i));
+                if (!whitespace && !inWord) {
+                    word++;
+                    if (word == fromWord) {
+                        start = window.length() + i;
+                    } else if (word == toWord) {
+                        end = window.length() + i;
+                    }
+                }
+                inWord = !whitespace;
+            }
+            window.append(content);
+        }
+        if (end < 0) {
+            end = window.length();
+        }
+        while (end > start && Character.isWhitespace(window.charAt(end - 1))) {
+            end--;
+        }
+        return Optional.of(new TextRange(id, fromWord, toWord - fromWord, totalWords, window.substring(start, end)));
+    }
+
+    // Syllable breaks, word flags and readability for a window of words, read from the
+    // annotations stored with each chunk
+    public Optional<TextAnnotations> getTextAnnotations(Long id, int fromWord, int count) {
+        Optional<Text> found = textRepository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Text text = found.get();
+        if (text.getBlobId() == null) {
+            text = chunkLegacyText(id);
+        }
+
+        int totalWords = text.getWordCount();
+        int toWord = (int) Math.min((long) fromWord + count, totalWords);
+        List<String> words = new ArrayList<>();
+        List<int[]> breaks = new ArrayList<>();
+        int[] flags = new int[Math.max(0, toWord - fromWord)];
+        if (fromWord < toWord) {
+            for (TextChunk chunk : contentStore.chunksCoveringWords(text.getBlobId(), fromWord, toWord)) {
+                String content = chunk.getContent();
+                WordTokens tokens = chunk.getWordOffsets() != null
+                        ? WordTokens.decode(chunk.getWordOffsets(), chunk.getWordDurations())
+                        : WordTokens.tokenize(content);
+                WordAnnotations annotations = chunk.getWordSyllables() != null
+                        ? WordAnnotations.decode(chunk.getWordSyllables(), chunk.getWordFlags())
+                        : WordAnnotations.annotate(content, tokens); // Stored before annotations existed
+                int first = Math.max(fromWord - chunk.getFirstWord(), 0);
+                int last = Math.min(toWord - chunk.getFirstWord(), tokens.size());
+                for (int i = first; i < last; i++) {
+                    flags[words.size()] = annotations.flags(i);
+                    words.add(tokens.word(content, i));
+                    breaks.add(annotations.breaks(i));
+                }
+            }
+        }
+        Readability readability = contentStore.readability(text.getBlobId()).orElse(null);
+        return Optional.of(new TextAnnotations(id, fromWord, totalWords, readability, words, breaks,
+                Arrays.copyOf(flags, words.size())));
     }
 
     // Delete a text by ID
+    // Tombstones the text, which hides it from every query at once. Its rows, rendition, reading
+    // progress and content are purged later by StorageMaintenance, so the cost of a delete does
+    // not depend on the size of the text.
     public boolean deleteText(Long id) {
-        if (textRepository.existsById(id)) {
-            textRepository.deleteById(id);
-            return true;
+        Optional<String> owner = textRepository.findOwnerUsernameById(id);
+        if (owner.isEmpty()) {
+            return false;
+        }
+        int tombstoned = jdbcTemplate.update("update text set deleted_at = ? where id = ? and deleted_at is null",
+                Instant.now().atOffset(ZoneOffset.UTC), id);
+        if (tombstoned == 0) {
+            return false; // Deleted concurrently
+        }
+        searchIndex.remove(id);
+        readingProgressService.forgetText(id);
+        changeLog.record(owner.get(), ChangeLogEntry.Kind.TEXT, id, ChangeLogEntry.Operation.DELETE);
+        return true;
+    }
+
+    private static String encodeCursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    // Cursor positions are "<id>" or "<id>:<title>"
+    private static long parseCursorId(String position) {
+        int colon = position.indexOf(':');
+        return Long.parseLong(colon >= 0 ? position.substring(0, colon) : position);
+    }
+
+    private static String titleFromFileName(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            return "Untitled";
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    // Reassemble chunked content into a detached copy of the text
+    private Text withContent(Text text) {
+        if (text.getBlobId() == null) {
+            return text;
         }
-        return false;
+        entityManager.detach(text);
+        text.setContent(contentStore.readAll(text.getBlobId()));
+        return text;
     }
 }
@@ -0,0 +1,18 @@
+package com.example.dyslexia.service;
+
+import java.io.IOException;
+
+// The upload's detected MIME type is not in dyslexia.extraction.allowed-types
+public class UnsupportedDocumentTypeException extends IOException {
+
+    private final String mimeType;
+
+    public UnsupportedDocumentTypeException(String mimeType) {
+        super("Unsupported document type: " + mimeType);
+        this.mimeType = mimeType;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+}
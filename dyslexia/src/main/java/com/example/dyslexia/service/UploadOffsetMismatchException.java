@@ -0,0 +1,19 @@
+package com.example.dyslexia.service;
+
+import java.io.IOException;
+
+// A resumable upload range does not continue at the received offset, or the upload is not complete yet
+public class UploadOffsetMismatchException extends IOException {
+
+    private final long offset;
+
+    public UploadOffsetMismatchException(String message, long offset) {
+        super(message);
+        this.offset = offset;
+    }
+
+    // Bytes received so far; the client resumes from here
+    public long getOffset() {
+        return offset;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.User;
+import com.example.dyslexia.model.UserIdentity;
+import com.example.dyslexia.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Resolves who a user is without a database round trip on hot paths. Identities are cached by
+// username and by email; only found users are cached, so a miss always re-checks the database.
+@Service
+public class UserIdentityService {
+
+    private final UserRepository userRepository;
+    private final Map<String, UserIdentity> byUsername;
+    private final Map<String, UserIdentity> byEmail;
+    private final Counter hits;
+    private final Counter misses;
+    // Bumped by every invalidation, so a load that raced with one is not cached
+    private long generation;
+
+    public UserIdentityService(UserRepository userRepository,
+                               @Value("${dyslexia.users.identity-cache-size:10000}") int cacheSize,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.byUsername = lruMap(cacheSize);
+        this.byEmail = lruMap(cacheSize);
+        this.hits = Counter.builder("dyslexia.users.identity.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("dyslexia.users.identity.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    public Optional<UserIdentity> findByUsername(String username) {
+        return lookup(byUsername, username, key -> userRepository.findByUsername(key));
+    }
+
+    public Optional<UserIdentity> findByEmail(String email) {
+        return lookup(byEmail, email, key -> userRepository.findByEmail(key));
+    }
+
+    public boolean existsByUsername(String username) {
+        return findByUsername(username).isPresent();
+    }
+
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+
+    // Id of the user, creating a bare account for names that do not exist yet. Two first
+    // uploads for the same new name may both try to create it; the unique username index lets
+    // one insert win and the other reads the winner's id.
+    public Long idForUsername(String username) {
+        return findByUsername(username).map(UserIdentity::id).orElseGet(() -> {
+            User newUser = new User();
+            newUser.setUsername(username);
+            try {
+                User saved = userRepository.save(newUser);
+                invalidate(username, null);
+                return saved.getId();
+            } catch (DataIntegrityViolationException e) {
+                invalidate(username, null);
+                return findByUsername(username).map(UserIdentity::id).orElseThrow(() -> e);
+            }
+        });
+    }
+
+    // Must be called whenever a user is created or their credentials change
+    public void invalidate(String username, String email) {
+        synchronized (this) {
+            generation++;
+            UserIdentity removed = username != null ? byUsername.remove(username) : null;
+            if (removed != null && removed.email() != null) {
+                byEmail.remove(removed.email());
+            }
+            if (email != null) {
+                removed = byEmail.remove(email);
+                if (removed != null) {
+                    byUsername.remove(removed.username());
+                }
+            }
+        }
+    }
+
+    private Optional<UserIdentity> lookup(Map<String, UserIdentity> cache, String key,
+                                          Function<String, Optional<User>> loader) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        long loadGeneration;
+        synchronized (this) {
+            UserIdentity cached = cache.get(key);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        Optional<UserIdentity> loaded = loader.apply(key).map(UserIdentity::of);
+        loaded.ifPresent(identity -> {
+            synchronized (this) {
+                if (generation != loadGeneration) {
+                    return;
+                }
+                byUsername.put(identity.username(), identity);
+                if (identity.email() != null) {
+                    byEmail.put(identity.email(), identity);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    private static Map<String, UserIdentity> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserIdentity> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+}
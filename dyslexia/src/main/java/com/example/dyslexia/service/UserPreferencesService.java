@@ -1,27 +1,211 @@
 package com.example.dyslexia.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.example.dyslexia.model.ChangeLogEntry;
 import com.example.dyslexia.model.UserPreferences;
 import com.example.dyslexia.repository.UserPreferencesRepository;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Preferences are served from a bounded in-memory cache. Saves update the cache at once and
+// are written to the database once per write window, so a burst of slider changes costs one write.
+// The trade-off is durability: a save is only in memory until its write succeeds, so a crash
+// within the window loses it, and a write that keeps failing is retried with growing delays a
+// bounded number of times and then dropped (the cached copy still serves until eviction or restart).
 @Service
 public class UserPreferencesService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserPreferencesService.class);
+
     @Autowired
     private UserPreferencesRepository repository;
 
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Value("${dyslexia.preferences.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${dyslexia.preferences.write-delay:PT2S}")
+    private Duration writeDelay;
+
+    // A failed write is retried after write-delay, doubling each time up to max-write-backoff
+    @Value("${dyslexia.preferences.max-write-backoff:PT1M}")
+    private Duration maxWriteBackoff;
+
+    @Value("${dyslexia.preferences.max-write-attempts:5}")
+    private int maxWriteAttempts;
+
+    // Cached snapshots are never modified once published; a null snapshot records "no preferences"
+    private static class Entry {
+        final UserPreferences snapshot;
+        boolean dirty;
+
+        Entry(UserPreferences snapshot, boolean dirty) {
+            this.snapshot = snapshot;
+            this.dirty = dirty;
+        }
+    }
+
+    private Map<String, Entry> cache;
+    private final Set<String> pendingWrites = ConcurrentHashMap.newKeySet();
+    // Consecutive failed writes per user; cleared by a successful write or a new save
+    private final Map<String, Integer> failedWrites = new ConcurrentHashMap<>();
+    private ScheduledExecutorService writer;
+
+    @PostConstruct
+    void start() {
+        // Access-ordered LRU; entries with an unwritten save are never evicted
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheSize && !eldest.getValue().dirty;
+            }
+        };
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "preferences-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        writer.shutdownNow();
+        List<String> dirty;
+        synchronized (cache) {
+            dirty = new ArrayList<>();
+            cache.forEach((username, entry) -> {
+                if (entry.dirty) {
+                    dirty.add(username);
+                }
+            });
+        }
+        dirty.forEach(this::write);
+    }
+
     public UserPreferences getUserPreferences(String username) {
-        return repository.findByUsername(username);
+        synchronized (cache) {
+            Entry entry = cache.get(username);
+            if (entry != null) {
+                return entry.snapshot;
+            }
+        }
+        UserPreferences loaded = repository.findByUsername(username);
+        if (loaded != null && loaded.getVersion() == null) {
+            loaded.setVersion(0L);
+        }
+        synchronized (cache) {
+            // A save that raced with the load wins
+            return cache.computeIfAbsent(username, key -> new Entry(loaded, false)).snapshot;
+        }
     }
 
+    // Publishes the new preferences immediately; the database write follows within the write delay
     public UserPreferences saveUserPreferences(UserPreferences preferences) {
-        UserPreferences existing = repository.findByUsername(preferences.getUsername());
-        if (existing != null) {
-            preferences.setId(existing.getId());
+        UserPreferences previous = getUserPreferences(preferences.getUsername());
+        UserPreferences snapshot = copyOf(preferences);
+        synchronized (cache) {
+            Entry current = cache.get(preferences.getUsername());
+            if (current != null && current.snapshot != null) {
+                previous = current.snapshot;
+            }
+            snapshot.setId(previous != null ? previous.getId() : null);
+            snapshot.setVersion(previous != null ? previous.getVersion() + 1 : 1L);
+            cache.put(snapshot.getUsername(), new Entry(snapshot, true));
         }
-        return repository.save(preferences);
+        failedWrites.remove(snapshot.getUsername());
+        if (pendingWrites.add(snapshot.getUsername())) {
+            writer.schedule(() -> write(snapshot.getUsername()), writeDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return snapshot;
     }
 
+    // Writes the latest snapshot for a user, whatever number of saves it absorbed
+    private void write(String username) {
+        pendingWrites.remove(username);
+        UserPreferences snapshot;
+        synchronized (cache) {
+            Entry entry = cache.get(username);
+            if (entry == null || !entry.dirty) {
+                return;
+            }
+            entry.dirty = false;
+            snapshot = entry.snapshot;
+        }
+
+        try {
+            UserPreferences row = copyOf(snapshot);
+            row.setId(snapshot.getId());
+            row.setVersion(snapshot.getVersion());
+            if (row.getId() == null) {
+                UserPreferences existing = repository.findByUsername(username);
+                if (existing != null) {
+                    row.setId(existing.getId());
+                }
+            }
+            Long id = repository.save(row).getId();
+            failedWrites.remove(username);
+            changeLog.record(username, ChangeLogEntry.Kind.PREFERENCES, id, ChangeLogEntry.Operation.UPSERT);
+            synchronized (cache) {
+                Entry entry = cache.get(username);
+                if (entry != null && entry.snapshot != null && entry.snapshot.getId() == null) {
+                    // First insert: republish the snapshot with its generated id
+                    UserPreferences withId = copyOf(entry.snapshot);
+                    withId.setId(id);
+                    withId.setVersion(entry.snapshot.getVersion());
+                    cache.put(username, new Entry(withId, entry.dirty));
+                }
+            }
+        } catch (RuntimeException e) {
+            int attempts = failedWrites.merge(username, 1, Integer::sum);
+            if (attempts >= maxWriteAttempts) {
+                failedWrites.remove(username);
+                log.error("Giving up writing preferences for {} after {} attempts", username, attempts, e);
+                return;
+            }
+            log.warn("Could not write preferences for {}, retrying", username, e);
+            synchronized (cache) {
+                Entry entry = cache.get(username);
+                if (entry != null) {
+                    entry.dirty = true;
+                }
+            }
+            if (pendingWrites.add(username) && !writer.isShutdown()) {
+                writer.schedule(() -> write(username), retryDelay(attempts), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // write-delay doubled per failed attempt, capped at max-write-backoff
+    private long retryDelay(int attempts) {
+        long delay = writeDelay.toMillis() << Math.min(attempts, 20);
+        return Math.min(delay, maxWriteBackoff.toMillis());
+    }
+
+    private static UserPreferences copyOf(UserPreferences source) {
+        UserPreferences copy = new UserPreferences();
+        copy.setUsername(source.getUsername());
+        copy.setFont(source.getFont());
+        copy.setBackgroundColor(source.getBackgroundColor());
+        copy.setTextSize(source.getTextSize());
+        copy.setLineSpacing(source.getLineSpacing());
+        return copy;
+    }
 }
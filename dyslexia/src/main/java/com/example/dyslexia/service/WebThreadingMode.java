@@ -0,0 +1,34 @@
+package com.example.dyslexia.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Reports which threads serve requests. Spring Boot ignores spring.threads.virtual.enabled below
+// Java 21, so the virtual-threads profile on an older runtime would otherwise fall back silently.
+@Component
+public class WebThreadingMode {
+
+    private static final Logger log = LoggerFactory.getLogger(WebThreadingMode.class);
+
+    private static final int VIRTUAL_THREADS_SINCE = 21;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void report() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsRequested) {
+            log.info("Serving requests on platform threads (Java {})", javaVersion);
+        } else if (javaVersion < VIRTUAL_THREADS_SINCE) {
+            log.warn("Virtual threads requested but Java {} has none; serving requests on platform threads",
+                    javaVersion);
+        } else {
+            log.info("Serving requests on virtual threads (Java {})", javaVersion);
+        }
+    }
+}
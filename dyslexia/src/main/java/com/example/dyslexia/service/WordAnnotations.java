@@ -0,0 +1,189 @@
+package com.example.dyslexia.service;
+
+import java.io.ByteArrayOutputStream;
+
+// Reading-aid annotations of one chunk's words, computed once at ingestion next to WordTokens.
+// Syllables are packed per word as a varint break count followed by varint gaps between
+// breaks (the first from the word start); flags hold one byte per word.
+public final class WordAnnotations {
+
+    // Three or more syllables
+    public static final int POLYSYLLABIC = 1;
+    // Nine or more letters
+    public static final int LONG = 2;
+    // At least two different letters of b, d, p and q, which are easily mirrored
+    public static final int MIRROR_LETTERS = 4;
+    public static final int NUMERIC = 8;
+    // Ends with . ! or ?, possibly followed by closing quotes or brackets
+    public static final int SENTENCE_END = 16;
+
+    private static final String CLOSERS = "\"')]}\u201D\u2019\u00BB";
+
+    private static final int LONG_WORD_LETTERS = 9;
+
+    private final int[][] breaks;
+    private final byte[] flags;
+    // Syllables per word; only known when annotated, not stored
+    private final int[] syllables;
+
+    private WordAnnotations(int[][] breaks, byte[] flags, int[] syllables) {
+        this.breaks = breaks;
+        this.flags = flags;
+        this.syllables = syllables;
+    }
+
+    public static WordAnnotations annotate(String content, WordTokens tokens) {
+        int[][] breaks = new int[tokens.size()][];
+        byte[] flags = new byte[tokens.size()];
+        int[] syllables = new int[tokens.size()];
+        for (int i = 0; i < tokens.size(); i++) {
+            String word = tokens.word(content, i);
+            breaks[i] = Syllables.breaks(word);
+            syllables[i] = Syllables.count(word);
+            flags[i] = (byte) flags(word, syllables[i]);
+        }
+        return new WordAnnotations(breaks, flags, syllables);
+    }
+
+    public static WordAnnotations decode(byte[] packedSyllables, byte[] flags) {
+        int[][] breaks = new int[flags.length][];
+        int[] position = {0};
+        for (int word = 0; word < flags.length; word++) {
+            int[] wordBreaks = new int[readVarint(packedSyllables, position)];
+            int previous = 0;
+            for (int b = 0; b < wordBreaks.length; b++) {
+                previous += readVarint(packedSyllables, position);
+                wordBreaks[b] = previous;
+            }
+            breaks[word] = wordBreaks;
+        }
+        return new WordAnnotations(breaks, flags, null);
+    }
+
+    public byte[] packSyllables() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(breaks.length * 2);
+        for (int[] wordBreaks : breaks) {
+            writeVarint(out, wordBreaks.length);
+            int previous = 0;
+            for (int position : wordBreaks) {
+                writeVarint(out, position - previous);
+                previous = position;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] flags() {
+        return flags;
+    }
+
+    public int size() {
+        return flags.length;
+    }
+
+    // Offsets inside the word where a new syllable starts
+    public int[] breaks(int index) {
+        return breaks[index];
+    }
+
+    public int flags(int index) {
+        return flags[index] & 0xff;
+    }
+
+    private static int flags(String word, int syllables) {
+        int flags = syllables >= 3 ? POLYSYLLABIC : 0;
+        int letters = 0;
+        int mirrored = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = Character.toLowerCase(word.charAt(i));
+            if (Character.isLetter(c)) {
+                letters++;
+            } else if (Character.isDigit(c)) {
+                flags |= NUMERIC;
+            }
+            int mirror = "bdpq".indexOf(c);
+            if (mirror >= 0) {
+                mirrored |= 1 << mirror;
+            }
+        }
+        if (letters >= LONG_WORD_LETTERS) {
+            flags |= LONG;
+        }
+        if (Integer.bitCount(mirrored) >= 2) {
+            flags |= MIRROR_LETTERS;
+        }
+        // Closing quotes and brackets may follow the terminal mark: "Stop." or (see above.)
+        int end = word.length() - 1;
+        while (end > 0 && CLOSERS.indexOf(word.charAt(end)) >= 0) {
+            end--;
+        }
+        char last = word.charAt(end);
+        if (last == '.' || last == '!' || last == '?') {
+            flags |= SENTENCE_END;
+        }
+        return flags;
+    }
+
+    // Running counts over a whole text for the readability formulas
+    public static final class Totals {
+        private int words;
+        private int sentences;
+        private int syllables;
+        private int polysyllables;
+        // The last word seen did not end a sentence
+        private boolean openSentence;
+
+        // Annotations straight from annotate(), which still carry the per-word syllable counts
+        public void add(WordAnnotations annotations) {
+            for (int i = 0; i < annotations.size(); i++) {
+                int wordSyllables = annotations.syllables[i];
+                words++;
+                syllables += wordSyllables;
+                if (wordSyllables >= 3) {
+                    polysyllables++;
+                }
+                openSentence = (annotations.flags(i) & SENTENCE_END) == 0;
+                if (!openSentence) {
+                    sentences++;
+                }
+            }
+        }
+
+        public int words() {
+            return words;
+        }
+
+        // Words after the last terminal mark form a final sentence of their own
+        public int sentences() {
+            return openSentence ? sentences + 1 : sentences;
+        }
+
+        public int syllables() {
+            return syllables;
+        }
+
+        public int polysyllables() {
+            return polysyllables;
+        }
+    }
+
+    private static int readVarint(byte[] packed, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = packed[position[0]++];
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
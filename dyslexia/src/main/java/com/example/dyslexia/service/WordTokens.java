@@ -0,0 +1,127 @@
+package com.example.dyslexia.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+// Word layout of one chunk, computed once at ingestion and stored in packed form.
+// Offsets are varint pairs of (gap since the previous word's end, word length);
+// durations hold one byte per word in tenths of the base per-word display time.
+public final class WordTokens {
+
+    public static final int BASE_DURATION = 10;
+
+    private final int[] starts;
+    private final int[] lengths;
+    private final byte[] durations;
+
+    private WordTokens(int[] starts, int[] lengths, byte[] durations) {
+        this.starts = starts;
+        this.lengths = lengths;
+        this.durations = durations;
+    }
+
+    public static WordTokens tokenize(String content) {
+        int[] starts = new int[16];
+        int[] lengths = new int[16];
+        byte[] durations = new byte[16];
+        int size = 0;
+        int start = -1;
+        for (int i = 0; i <= content.length(); i++) {
+            boolean whitespace = i == content.length() || Character.isWhitespace(content.charAt(i));
+            if (!whitespace && start < 0) {
+                start = i;
+            } else if (whitespace && start >= 0) {
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    lengths = Arrays.copyOf(lengths, size * 2);
+                    durations = Arrays.copyOf(durations, size * 2);
+                }
+                starts[size] = start;
+                lengths[size] = i - start;
+                durations[size] = (byte) durationHint(content, start, i);
+                size++;
+                start = -1;
+            }
+        }
+        return new WordTokens(Arrays.copyOf(starts, size), Arrays.copyOf(lengths, size), Arrays.copyOf(durations, size));
+    }
+
+    public static WordTokens decode(byte[] packedOffsets, byte[] durations) {
+        int[] starts = new int[durations.length];
+        int[] lengths = new int[durations.length];
+        int position = 0;
+        int end = 0;
+        for (int word = 0; word < durations.length; word++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = packedOffsets[position++];
+                gap |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            int length = 0;
+            shift = 0;
+            do {
+                b = packedOffsets[position++];
+                length |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            starts[word] = end + gap;
+            lengths[word] = length;
+            end = starts[word] + length;
+        }
+        return new WordTokens(starts, lengths, durations);
+    }
+
+    public byte[] packOffsets() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(starts.length * 2);
+        int end = 0;
+        for (int i = 0; i < starts.length; i++) {
+            writeVarint(out, starts[i] - end);
+            writeVarint(out, lengths[i]);
+            end = starts[i] + lengths[i];
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] durations() {
+        return durations;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public String word(String content, int index) {
+        return content.substring(starts[index], starts[index] + lengths[index]);
+    }
+
+    // Display time of the word relative to BASE_DURATION
+    public int duration(int index) {
+        return durations[index] & 0xff;
+    }
+
+    // Longer words and words closing a clause, sentence or line are shown for longer
+    private static int durationHint(String content, int start, int end) {
+        int hint = BASE_DURATION + Math.min(Math.max(end - start - 6, 0), 10);
+        char last = content.charAt(end - 1);
+        if (last == '.' || last == '!' || last == '?') {
+            hint += 10;
+        } else if (last == ',' || last == ';' || last == ':') {
+            hint += 5;
+        }
+        if (end < content.length() && (content.charAt(end) == '\n' || content.charAt(end) == '\r')) {
+            hint += 5;
+        }
+        return Math.min(hint, 255);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -0,0 +1,130 @@
+-- Schema as it stood when Flyway took over from spring.jpa.hibernate.ddl-auto=update.
+-- Databases created by that setting already hold most of it, so every statement is idempotent
+-- and V1 runs on them too (spring.flyway.baseline-version=0).
+
+create table if not exists app_user (
+    id bigint generated by default as identity,
+    username varchar(255),
+    email varchar(255),
+    password varchar(255),
+    primary key (id)
+);
+
+create table if not exists user_preferences (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    font varchar(255),
+    background_color varchar(255),
+    text_size integer,
+    line_spacing float(53),
+    version bigint,
+    primary key (id),
+    constraint uk_user_preferences_username unique (username)
+);
+
+create table if not exists content_blob (
+    id bigint generated by default as identity,
+    text_hash varchar(64) not null,
+    ref_count integer not null,
+    chunk_count integer,
+    word_count integer,
+    preview varchar(300),
+    sentence_count integer,
+    syllable_count integer,
+    polysyllable_count integer,
+    primary key (id),
+    constraint uk_content_blob_text_hash unique (text_hash)
+);
+
+create table if not exists text_chunk (
+    id bigint generated by default as identity,
+    blob_id bigint not null,
+    seq integer not null,
+    first_word integer not null,
+    word_count integer not null,
+    content character large object,
+    data binary large object,
+    codec integer,
+    word_offsets binary large object,
+    word_durations binary large object,
+    word_syllables binary large object,
+    word_flags binary large object,
+    primary key (id),
+    constraint uk_text_chunk_blob_seq unique (blob_id, seq)
+);
+create index if not exists idx_text_chunk_first_word on text_chunk (blob_id, first_word);
+
+create table if not exists text (
+    id bigint generated by default as identity,
+    title varchar(255),
+    size_bytes bigint,
+    created_at timestamp(6) with time zone,
+    preview varchar(300),
+    content character large object,
+    blob_id bigint,
+    raw_hash varchar(64),
+    word_count integer,
+    deleted_at timestamp(6) with time zone,
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_text_user foreign key (user_id) references app_user (id)
+);
+create index if not exists idx_text_raw_hash on text (raw_hash);
+create index if not exists idx_text_deleted_at on text (deleted_at);
+
+create table if not exists text_rendition (
+    text_id bigint not null,
+    content_hash varchar(64) not null,
+    identity_length bigint not null,
+    gzip binary large object not null,
+    created_at timestamp(6) with time zone not null,
+    primary key (text_id),
+    constraint fk_text_rendition_text foreign key (text_id) references text (id)
+);
+
+create table if not exists reading_progress (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    text_id bigint not null,
+    word_index integer not null,
+    mode varchar(16),
+    wpm integer,
+    updated_at timestamp(6) with time zone not null,
+    reading_seconds bigint not null,
+    primary key (id),
+    constraint uk_reading_progress_user_text unique (username, text_id)
+);
+create index if not exists idx_reading_progress_username on reading_progress (username);
+create index if not exists idx_reading_progress_text on reading_progress (text_id);
+
+create table if not exists change_log (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    kind varchar(16) not null,
+    entity_id bigint not null,
+    operation varchar(8) not null,
+    changed_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+create index if not exists idx_change_log_user_id on change_log (username, id);
+create index if not exists idx_change_log_entity on change_log (username, kind, entity_id);
+
+-- Columns added to tables that older databases already had
+alter table text add column if not exists title varchar(255);
+alter table text add column if not exists size_bytes bigint;
+alter table text add column if not exists created_at timestamp(6) with time zone;
+alter table text add column if not exists preview varchar(300);
+alter table text add column if not exists blob_id bigint;
+alter table text add column if not exists raw_hash varchar(64);
+alter table text add column if not exists word_count integer;
+alter table text add column if not exists deleted_at timestamp(6) with time zone;
+alter table user_preferences add column if not exists version bigint;
+alter table content_blob add column if not exists sentence_count integer;
+alter table content_blob add column if not exists syllable_count integer;
+alter table content_blob add column if not exists polysyllable_count integer;
+alter table text_chunk add column if not exists data binary large object;
+alter table text_chunk add column if not exists codec integer;
+alter table text_chunk add column if not exists word_offsets binary large object;
+alter table text_chunk add column if not exists word_durations binary large object;
+alter table text_chunk add column if not exists word_syllables binary large object;
+alter table text_chunk add column if not exists word_flags binary large object;
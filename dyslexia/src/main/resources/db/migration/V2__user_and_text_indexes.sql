@@ -0,0 +1,8 @@
+-- Registration checks for an existing username or email, but only these constraints keep two
+-- concurrent registrations from both succeeding. Fails on databases that already hold
+-- duplicates; those have to be resolved by hand first.
+create unique index if not exists ux_app_user_username on app_user (username);
+create unique index if not exists ux_app_user_email on app_user (email);
+
+-- Per-user text listings filter on user_id and page by id
+create index if not exists idx_text_user_id on text (user_id, id);
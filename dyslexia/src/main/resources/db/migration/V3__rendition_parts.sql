@@ -0,0 +1,15 @@
+-- Stored renditions are split into parts so that neither rendering nor serving a text holds its
+-- whole body in memory. Existing renditions also embedded the owner's account; they are dropped
+-- and rendered again on the next request for each text.
+delete from text_rendition;
+alter table text_rendition drop column gzip;
+alter table text_rendition add column gzip_length bigint not null;
+alter table text_rendition add column head binary large object not null;
+
+create table if not exists text_rendition_part (
+    text_id bigint not null,
+    seq integer not null,
+    data binary large object not null,
+    primary key (text_id, seq),
+    constraint fk_text_rendition_part_rendition foreign key (text_id) references text_rendition (text_id)
+);
@@ -0,0 +1,150 @@
+package com.example.dyslexia.controller;
+
+import com.example.dyslexia.model.User;
+import com.example.dyslexia.model.UserPreferences;
+import com.example.dyslexia.repository.UserPreferencesRepository;
+import com.example.dyslexia.repository.UserRepository;
+import com.example.dyslexia.security.JwtUtil;
+import com.example.dyslexia.service.TextRenditionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Statement budgets for the endpoints clients call most. A lazy load or a per-row lookup
+// sneaking into one of these paths raises its count and fails the build.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1",
+        "dyslexia.extraction.warm-up=false"
+})
+@AutoConfigureMockMvc
+@Import(StatementCountingConfiguration.class)
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPreferencesRepository preferencesRepository;
+
+    @Autowired
+    private TextRenditionService textRenditionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void preferencesGetIsOneQueryAndThenServedFromMemory() throws Exception {
+        String username = register("prefs");
+        UserPreferences preferences = new UserPreferences();
+        preferences.setUsername(username);
+        preferences.setFont("OpenDyslexic");
+        preferences.setVersion(1L);
+        preferencesRepository.save(preferences);
+
+        assertStatements(1, 200, asUser(get("/api/preferences/" + username), username));
+        assertStatements(0, 200, asUser(get("/api/preferences/" + username), username));
+    }
+
+    @Test
+    void textSummaryPageIsOneQueryWhateverItsSize() throws Exception {
+        String username = register("summaries");
+        Long userId = userRepository.findByUsername(username).orElseThrow().getId();
+        for (int i = 0; i < 20; i++) {
+            insertText(userId, "Text " + i);
+        }
+
+        assertStatements(1, 200, asUser(get("/api/texts/user/" + username + "/summaries?limit=10"), username));
+    }
+
+    @Test
+    void storedTextIsOneQueryAndRevalidationToo() throws Exception {
+        String username = register("texts");
+        Long textId = insertText(userRepository.findByUsername(username).orElseThrow().getId(), "Stored");
+        textRenditionService.prepare(textId);
+
+        MvcResult first = assertStatements(1, 200, asUser(get("/api/texts/" + textId), username)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertStatements(1, 304, asUser(get("/api/texts/" + textId), username)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+    }
+
+    @Test
+    void readingPositionsListIsOneQuery() throws Exception {
+        String username = register("progress");
+
+        assertStatements(1, 200, asUser(get("/api/progress"), username));
+    }
+
+    @Test
+    void syncWithoutChangesIsOneQuery() throws Exception {
+        String username = register("sync");
+        MvcResult reset = mockMvc.perform(asUser(get("/api/sync"), username)).andReturn();
+        String cursor = reset.getResponse().getContentAsString().replaceAll(".*\"cursor\":\"([^\"]+)\".*", "$1");
+
+        assertStatements(1, 200, asUser(get("/api/sync").param("since", cursor), username));
+    }
+
+    private MvcResult assertStatements(long budget, int status, MockHttpServletRequestBuilder request) throws Exception {
+        StatementCountingConfiguration.reset();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        long executed = StatementCountingConfiguration.statements();
+        assertEquals(status, result.getResponse().getStatus(), request.toString());
+        assertTrue(executed <= budget, () -> result.getRequest().getRequestURI() + " ran " + executed
+                + " SQL statements, budget is " + budget);
+        return result;
+    }
+
+    private MockHttpServletRequestBuilder asUser(MockHttpServletRequestBuilder request, String username) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(username));
+    }
+
+    private String register(String prefix) {
+        User user = new User();
+        user.setUsername(prefix + "-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("unused");
+        return userRepository.save(user).getUsername();
+    }
+
+    // A text in the legacy single-column form; it is moved to chunked storage on first read
+    private Long insertText(Long userId, String title) {
+        KeyHolder key = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "insert into text (title, created_at, content, user_id) values (?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, title);
+            statement.setObject(2, Instant.now().atOffset(ZoneOffset.UTC));
+            statement.setString(3, "The quick brown fox jumps over the lazy dog.");
+            statement.setLong(4, userId);
+            return statement;
+        }, key);
+        return key.getKey().longValue();
+    }
+}
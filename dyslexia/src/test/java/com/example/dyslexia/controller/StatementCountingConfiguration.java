@@ -0,0 +1,38 @@
+package com.example.dyslexia.controller;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// Wraps the application's DataSource so every statement executed by the current thread is
+// counted (datasource-proxy, already on the classpath through datasource-micrometer). MockMvc
+// runs the request on the test thread, so the count covers exactly one request.
+@TestConfiguration
+public class StatementCountingConfiguration {
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource).name("statement-counting").countQuery().build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    // Statements of any kind executed by this thread since the last reset
+    public static long statements() {
+        return QueryCountHolder.getGrandTotal().getTotal();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.dyslexia.controller;
+
+import com.example.dyslexia.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:text-upload;DB_CLOSE_DELAY=-1",
+        "dyslexia.extraction.warm-up=false"
+})
+@AutoConfigureMockMvc
+class TextUploadTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 0x0d, 'I', 'H', 'D', 'R'};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void disallowedTypeIsRejectedBeforeItIsQueued() throws Exception {
+        // Named like a text file; the type comes from the bytes
+        MvcResult result = upload(new MockMultipartFile("file", "notes.txt", "text/plain", PNG));
+
+        assertEquals(415, result.getResponse().getStatus());
+        assertTrue(result.getResponse().getContentAsString().contains("image/png"));
+    }
+
+    @Test
+    void allowedTypeIsAccepted() throws Exception {
+        MvcResult result = upload(new MockMultipartFile("file", "notes.txt", "text/plain",
+                "Short notes to read later.".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(202, result.getResponse().getStatus());
+        assertTrue(result.getResponse().getHeader(HttpHeaders.LOCATION).startsWith("/api/texts/jobs/"));
+    }
+
+    private MvcResult upload(MockMultipartFile file) throws Exception {
+        String username = "uploader-" + System.nanoTime();
+        return mockMvc.perform(multipart("/api/texts/upload")
+                        .file(file)
+                        .param("username", username)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(username)))
+                .andReturn();
+    }
+}
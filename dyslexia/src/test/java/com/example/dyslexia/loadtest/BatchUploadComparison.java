@@ -0,0 +1,157 @@
+package com.example.dyslexia.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Imports the same number of distinct generated documents against a running server twice: one
+// /api/texts/upload per file (waiting for each job, as documentUploader.js does), then a single
+// /api/texts/upload/batch with all of them in a ZIP archive. Prints the wall time of both.
+//
+//   mvn test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.dyslexia.loadtest.BatchUploadComparison \
+//       -Dexec.args="http://localhost:8080 200"
+//
+// Arguments: base URL, documents per import.
+public class BatchUploadComparison {
+
+    private static final String USERNAME = "batch-teacher";
+    private static final String PASSWORD = "load-test-password";
+    private static final String[] WORDS = {"the", "reader", "follows", "each", "line", "slowly", "while",
+            "letters", "seem", "to", "move", "across", "page", "and", "spacing", "helps"};
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern JOB_ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern JOB_STATUS = Pattern.compile("\"status\"\\s*:\\s*\"([A-Z]+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final Random random = new Random();
+
+    private BatchUploadComparison(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("usage: BatchUploadComparison <base-url> <documents>");
+            System.exit(2);
+        }
+        BatchUploadComparison comparison = new BatchUploadComparison(args[0]);
+        int documents = Integer.parseInt(args[1]);
+        String token = comparison.login();
+
+        // Fresh random documents for each import, so neither is served by content de-duplication
+        long start = System.nanoTime();
+        for (int i = 0; i < documents; i++) {
+            comparison.uploadOne(token, "single-" + i + ".txt", comparison.document());
+        }
+        long singleMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        HttpResponse<String> batch = comparison.uploadBatch(token, documents);
+        long batchMillis = (System.nanoTime() - start) / 1_000_000;
+        if (batch.statusCode() != 200) {
+            throw new IllegalStateException("batch upload failed: " + batch.statusCode() + " " + batch.body());
+        }
+        int created = batch.body().split("\"CREATED\"", -1).length - 1;
+
+        System.out.printf("%-22s %10s%n", "import of " + documents, "wall ms");
+        System.out.printf("%-22s %10d%n", "one file per request", singleMillis);
+        System.out.printf("%-22s %10d  (%d created)%n", "batch (ZIP)", batchMillis, created);
+    }
+
+    private String login() throws Exception {
+        post("/api/auth/register", "{\"username\":\"" + USERNAME + "\",\"email\":\"" + USERNAME
+                + "@example.com\",\"password\":\"" + PASSWORD + "\"}");
+        Matcher token = TOKEN.matcher(post("/api/auth/login",
+                "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}").body());
+        if (!token.find()) {
+            throw new IllegalStateException("login failed");
+        }
+        return token.group(1);
+    }
+
+    private void uploadOne(String token, String fileName, byte[] content) throws Exception {
+        HttpResponse<String> accepted = multipart(token, "/api/texts/upload", "file", fileName, content);
+        Matcher jobId = JOB_ID.matcher(accepted.body());
+        if (accepted.statusCode() != 202 || !jobId.find()) {
+            throw new IllegalStateException("upload rejected: " + accepted.statusCode() + " " + accepted.body());
+        }
+        HttpRequest poll = HttpRequest.newBuilder(URI.create(baseUrl + "/api/texts/jobs/" + jobId.group(1)))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        while (true) {
+            Matcher status = JOB_STATUS.matcher(client.send(poll, HttpResponse.BodyHandlers.ofString()).body());
+            String current = status.find() ? status.group(1) : "";
+            if (current.equals("DONE") || current.equals("FAILED")) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private HttpResponse<String> uploadBatch(String token, int documents) throws Exception {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            for (int i = 0; i < documents; i++) {
+                zip.putNextEntry(new ZipEntry("reading-list/batch-" + i + ".txt"));
+                zip.write(document());
+                zip.closeEntry();
+            }
+        }
+        return multipart(token, "/api/texts/upload/batch", "files", "reading-list.zip", archive.toByteArray());
+    }
+
+    private HttpResponse<String> multipart(String token, String path, String field, String fileName, byte[] content)
+            throws Exception {
+        String boundary = UUID.randomUUID().toString();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"username\"\r\n\r\n" + USERNAME + "\r\n"
+                + "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field + "\"; filename=\""
+                + fileName + "\"\r\nContent-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(content);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .timeout(Duration.ofMinutes(10))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    // About 2,000 random words of plain text
+    private byte[] document() {
+        StringBuilder text = new StringBuilder();
+        List<String> line = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            line.add(WORDS[random.nextInt(WORDS.length)]);
+            if (line.size() == 12) {
+                text.append(String.join(" ", line)).append(".\n");
+                line.clear();
+            }
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.dyslexia.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Load test against a running server: many concurrent readers each page through a text
+// (GET /range) and report their position (PUT /api/progress) in a closed loop. Run it once
+// against the default server and once with the virtual-threads profile, then compare:
+//
+//   mvn spring-boot:run                      (platform threads, Tomcat max 200)
+//   mvn -Pvirtual-threads spring-boot:run    (Java 21, virtual threads)
+//
+//   mvn test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.dyslexia.loadtest.ConcurrentReadersLoad \
+//       -Dexec.args="http://localhost:8080 1000 60 1"
+//
+// Arguments: base URL, concurrent readers, seconds, id of an uploaded text to read.
+// Prints latency percentiles per request type, throughput, response codes and the server's
+// live thread count (jvm.threads.live) before and at the end of the run.
+public class ConcurrentReadersLoad {
+
+    private static final String USERNAME = "load-reader";
+    private static final String PASSWORD = "load-test-password";
+    private static final int PAGE_WORDS = 200;
+    // Pause between a reader's pages, roughly a fast reader
+    private static final long THINK_MILLIS = 250;
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.]+)");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String baseUrl;
+    private final Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+
+    private ConcurrentReadersLoad(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("usage: ConcurrentReadersLoad <base-url> <readers> <seconds> <text-id>");
+            System.exit(2);
+        }
+        ConcurrentReadersLoad load = new ConcurrentReadersLoad(args[0]);
+        int readers = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        long textId = Long.parseLong(args[3]);
+
+        load.post("/api/auth/register", "{\"username\":\"" + USERNAME + "\",\"email\":\"" + USERNAME
+                + "@example.com\",\"password\":\"" + PASSWORD + "\"}");
+        String login = load.post("/api/auth/login",
+                "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}").body();
+        Matcher matcher = TOKEN.matcher(login);
+        if (!matcher.find()) {
+            throw new IllegalStateException("login failed: " + login);
+        }
+        String token = matcher.group(1);
+
+        String threadsBefore = load.liveThreads(token);
+        List<Long> pages = Collections.synchronizedList(new ArrayList<>());
+        List<Long> pings = Collections.synchronizedList(new ArrayList<>());
+        String[] threadsDuring = {"?"};
+        load.run(token, textId, readers, duration, pages, pings, () -> threadsDuring[0] = load.liveThreads(token));
+
+        System.out.printf("%d readers for %d s%n%n", readers, duration.toSeconds());
+        System.out.printf("%-14s %8s %8s %8s %8s %8s %8s%n", "requests", "count", "per s", "p50 ms", "p95 ms",
+                "p99 ms", "max ms");
+        print("page (range)", pages, duration);
+        print("progress PUT", pings, duration);
+        System.out.println();
+        System.out.println("responses: " + load.statuses);
+        System.out.println("server live threads: " + threadsBefore + " before, " + threadsDuring[0] + " under load");
+    }
+
+    // Every reader logs its latencies until the deadline; the probe runs once most of the way through
+    private void run(String token, long textId, int readers, Duration duration, List<Long> pages,
+                     List<Long> pings, Runnable probe) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(readers + 1);
+        CountDownLatch started = new CountDownLatch(readers);
+        long deadline = System.nanoTime() + duration.toNanos();
+        for (int i = 0; i < readers; i++) {
+            String sessionId = "load-" + i;
+            pool.execute(() -> {
+                started.countDown();
+                int fromWord = ThreadLocalRandom.current().nextInt(0, 10) * PAGE_WORDS;
+                while (System.nanoTime() < deadline) {
+                    HttpResponse<Void> page = timed(pages, HttpRequest.newBuilder(URI.create(baseUrl + "/api/texts/"
+                            + textId + "/range?fromWord=" + fromWord + "&count=" + PAGE_WORDS)).GET(), token);
+                    // Start over at the end of the text
+                    fromWord = page != null && page.statusCode() == 200 ? fromWord + PAGE_WORDS : 0;
+                    timed(pings, HttpRequest.newBuilder(URI.create(baseUrl + "/api/progress/" + textId))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString("{\"wordIndex\":" + fromWord
+                                    + ",\"mode\":\"read\",\"sessionId\":\"" + sessionId + "\"}")), token);
+                    try {
+                        Thread.sleep(THINK_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+        pool.execute(() -> {
+            try {
+                started.await();
+                Thread.sleep(duration.toMillis() * 3 / 4);
+            } catch (InterruptedException e) {
+                return;
+            }
+            probe.run();
+        });
+        pool.shutdown();
+        pool.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS);
+    }
+
+    private HttpResponse<Void> timed(List<Long> latencies, HttpRequest.Builder builder, String token) {
+        HttpRequest request = builder.header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies.add(System.nanoTime() - start);
+            statuses.computeIfAbsent(response.statusCode(), s -> new AtomicInteger()).incrementAndGet();
+            return response;
+        } catch (Exception e) {
+            latencies.add(Long.MAX_VALUE);
+            statuses.computeIfAbsent(-1, s -> new AtomicInteger()).incrementAndGet();
+            return null;
+        }
+    }
+
+    private String liveThreads(String token) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/jvm.threads.live"))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            Matcher matcher = VALUE.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            return matcher.find() ? matcher.group(1) : "?";
+        } catch (Exception e) {
+            return "?";
+        }
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void print(String name, List<Long> latencies, Duration duration) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        if (sorted.isEmpty()) {
+            System.out.printf("%-14s %8d%n", name, 0);
+            return;
+        }
+        System.out.printf("%-14s %8d %8.1f %8.1f %8.1f %8.1f %8.1f%n", name, sorted.size(),
+                (double) sorted.size() / duration.toSeconds(),
+                millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99), millis(sorted, 1.0));
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1);
+        long nanos = sorted.get(Math.max(0, index));
+        return nanos == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : nanos / 1e6;
+    }
+}
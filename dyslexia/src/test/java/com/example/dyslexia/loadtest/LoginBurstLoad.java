@@ -0,0 +1,164 @@
+package com.example.dyslexia.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Load test against a running server: measures read latency (text summaries) on its own,
+// then again while a burst of concurrent logins is in progress, and prints both side by side
+// together with the status codes the logins received (200, 401, 429 or 503).
+//
+//   mvn test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.dyslexia.loadtest.LoginBurstLoad \
+//       -Dexec.args="http://localhost:8080 200 20"
+//
+// Arguments: base URL, concurrent login clients, seconds per phase.
+public class LoginBurstLoad {
+
+    private static final int READERS = 4;
+    private static final int BURST_ACCOUNTS = 50;
+    private static final String PASSWORD = "load-test-password";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+
+    private LoginBurstLoad(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("usage: LoginBurstLoad <base-url> <login-clients> <seconds-per-phase>");
+            System.exit(2);
+        }
+        LoginBurstLoad load = new LoginBurstLoad(args[0]);
+        int loginClients = Integer.parseInt(args[1]);
+        Duration phase = Duration.ofSeconds(Long.parseLong(args[2]));
+
+        load.register("load-reader");
+        for (int i = 0; i < BURST_ACCOUNTS; i++) {
+            load.register("load-burst-" + i);
+        }
+        String token = load.login("load-reader").body();
+        Matcher matcher = TOKEN.matcher(token);
+        if (!matcher.find()) {
+            throw new IllegalStateException("reader login failed: " + token);
+        }
+        String readerToken = matcher.group(1);
+
+        List<Long> baseline = load.readFor(readerToken, phase, null);
+
+        Map<Integer, AtomicInteger> loginStatuses = new ConcurrentHashMap<>();
+        List<Long> duringBurst = load.readFor(readerToken, phase, () -> load.burst(loginClients, phase, loginStatuses));
+
+        System.out.printf("%-14s %8s %8s %8s %8s %8s%n", "reads", "count", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        print("baseline", baseline);
+        print("login burst", duringBurst);
+        System.out.println();
+        System.out.println("login responses: " + loginStatuses);
+    }
+
+    // Runs reader threads for the phase; if a burst is given it runs alongside them
+    private List<Long> readFor(String token, Duration phase, Runnable burst) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+        long deadline = System.nanoTime() + phase.toNanos();
+        if (burst != null) {
+            pool.execute(burst);
+        }
+        for (int i = 0; i < READERS; i++) {
+            pool.execute(() -> {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/texts/user/load-reader/summaries"))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies.add(System.nanoTime() - start);
+                    } catch (Exception e) {
+                        latencies.add(Long.MAX_VALUE);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(phase.toSeconds() + 60, TimeUnit.SECONDS);
+        return latencies;
+    }
+
+    private void burst(int clients, Duration phase, Map<Integer, AtomicInteger> statuses) {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long deadline = System.nanoTime() + phase.toNanos();
+        for (int i = 0; i < clients; i++) {
+            String username = "load-burst-" + (i % BURST_ACCOUNTS);
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    int status;
+                    try {
+                        status = login(username).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(phase.toSeconds() + 60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void register(String username) throws Exception {
+        post("/api/auth/register", "{\"username\":\"" + username + "\",\"email\":\"" + username
+                + "@example.com\",\"password\":\"" + PASSWORD + "\"}");
+    }
+
+    private HttpResponse<String> login(String username) throws Exception {
+        return post("/api/auth/login", "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void print(String name, List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        if (sorted.isEmpty()) {
+            System.out.printf("%-14s %8d%n", name, 0);
+            return;
+        }
+        System.out.printf("%-14s %8d %8.1f %8.1f %8.1f %8.1f%n", name, sorted.size(),
+                millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99), millis(sorted, 1.0));
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1);
+        long nanos = sorted.get(Math.max(0, index));
+        return nanos == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : nanos / 1e6;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.dyslexia.loadtest;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Cold-start probe: launches the packaged application in a fresh JVM with an empty database,
+// measures the time until /actuator/health answers UP, then times the first and second PDF
+// upload end to end (POST until the ingestion job is DONE). Each run is done with the
+// extraction warm-up off and on, and the medians are printed side by side.
+//
+//   mvn -DskipTests package
+//   mvn test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.dyslexia.loadtest.StartupLatencyProbe \
+//       -Dexec.args="target/dyslexia-0.0.1-SNAPSHOT-exec.jar 5 10"
+//
+// Arguments: executable jar, runs per variant, seconds to wait between healthy and the first
+// upload (a real first upload rarely arrives the instant the port opens).
+public class StartupLatencyProbe {
+
+    private static final int PORT = 18080;
+    private static final String BASE_URL = "http://localhost:" + PORT;
+    private static final String PASSWORD = "probe-password";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern JOB_ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern JOB_STATUS = Pattern.compile("\"status\"\\s*:\\s*\"([A-Z]+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    private record Run(long startupMillis, long firstUploadMillis, long secondUploadMillis) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("usage: StartupLatencyProbe <exec-jar> <runs> <idle-seconds-before-upload>");
+            System.exit(2);
+        }
+        Path jar = Path.of(args[0]);
+        int runs = Integer.parseInt(args[1]);
+        Duration idle = Duration.ofSeconds(Long.parseLong(args[2]));
+        StartupLatencyProbe probe = new StartupLatencyProbe();
+
+        List<Run> cold = new ArrayList<>();
+        List<Run> warm = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            cold.add(probe.run(jar, false, idle));
+            warm.add(probe.run(jar, true, idle));
+        }
+
+        System.out.printf("%-10s %12s %16s %17s%n", "warm-up", "startup ms", "1st upload ms", "2nd upload ms");
+        print("off", cold);
+        print("on", warm);
+    }
+
+    private Run run(Path jar, boolean warmUp, Duration idle) throws Exception {
+        Path dataDir = Files.createTempDirectory("startup-probe");
+        Process app = new ProcessBuilder("java", "-jar", jar.toString(),
+                "--server.port=" + PORT,
+                "--spring.datasource.url=jdbc:h2:file:" + dataDir.resolve("db"),
+                "--dyslexia.extraction.warm-up=" + warmUp)
+                .redirectErrorStream(true)
+                .redirectOutput(dataDir.resolve("app.log").toFile())
+                .start();
+        long launched = System.nanoTime();
+        try {
+            awaitHealthy(app);
+            long startupMillis = (System.nanoTime() - launched) / 1_000_000;
+
+            post("/api/auth/register", "{\"username\":\"probe\",\"email\":\"probe@example.com\",\"password\":\""
+                    + PASSWORD + "\"}");
+            Matcher token = TOKEN.matcher(post("/api/auth/login",
+                    "{\"username\":\"probe\",\"password\":\"" + PASSWORD + "\"}").body());
+            if (!token.find()) {
+                throw new IllegalStateException("login failed");
+            }
+            Thread.sleep(idle.toMillis());
+
+            // Different documents, so the second upload is not served by content de-duplication
+            long first = upload(token.group(1), pdf(40, "first"));
+            long second = upload(token.group(1), pdf(40, "second"));
+            return new Run(startupMillis, first, second);
+        } finally {
+            app.destroy();
+            app.waitFor();
+        }
+    }
+
+    private void awaitHealthy(Process app) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(BASE_URL + "/actuator/health")).build();
+        while (true) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("application exited with " + app.exitValue());
+            }
+            try {
+                HttpResponse<String> response = client.send(health, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("UP")) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    // Milliseconds from sending the upload until its ingestion job is DONE
+    private long upload(String token, byte[] pdf) throws Exception {
+        String boundary = UUID.randomUUID().toString();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"username\"\r\n\r\nprobe\r\n"
+                + "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"probe.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(pdf);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        long start = System.nanoTime();
+        HttpResponse<String> accepted = client.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/api/texts/upload"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher jobId = JOB_ID.matcher(accepted.body());
+        if (accepted.statusCode() != 202 || !jobId.find()) {
+            throw new IllegalStateException("upload rejected: " + accepted.statusCode() + " " + accepted.body());
+        }
+
+        HttpRequest poll = HttpRequest.newBuilder(URI.create(BASE_URL + "/api/texts/jobs/" + jobId.group(1)))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        while (true) {
+            Matcher status = JOB_STATUS.matcher(client.send(poll, HttpResponse.BodyHandlers.ofString()).body());
+            String current = status.find() ? status.group(1) : "";
+            if (current.equals("DONE")) {
+                return (System.nanoTime() - start) / 1_000_000;
+            }
+            if (current.equals("FAILED")) {
+                throw new IllegalStateException("ingestion failed");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] pdf(int pages, String marker) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int page = 1; page <= pages; page++) {
+                PDPage pdPage = new PDPage();
+                document.addPage(pdPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 11);
+                    content.setLeading(15);
+                    content.newLineAtOffset(50, 740);
+                    for (int line = 1; line <= 40; line++) {
+                        content.showText(marker + " page " + page + " line " + line + " reading is easier with space");
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void print(String variant, List<Run> runs) {
+        System.out.printf("%-10s %12d %16d %17d%n", variant,
+                median(runs.stream().mapToLong(Run::startupMillis).toArray()),
+                median(runs.stream().mapToLong(Run::firstUploadMillis).toArray()),
+                median(runs.stream().mapToLong(Run::secondUploadMillis).toArray()));
+    }
+
+    private static long median(long[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.BatchItemResult;
+import com.example.dyslexia.model.User;
+import com.example.dyslexia.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// One extraction thread, so a large batch is still running when its request is abandoned
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch-upload;DB_CLOSE_DELAY=-1",
+        "dyslexia.extraction.warm-up=false",
+        "dyslexia.ingestion.batch-parallelism=1",
+        "dyslexia.ingestion.max-document-size=1MB",
+        "dyslexia.ingestion.batch-max-size=40MB"
+})
+class BatchUploadServiceTest {
+
+    @Autowired
+    private BatchUploadService batchUploadService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void skipsArchiveMetadataAndHiddenFiles() {
+        assertTrue(BatchUploadService.isDocumentEntry(new ZipEntry("notes.txt")));
+        assertTrue(BatchUploadService.isDocumentEntry(new ZipEntry("chapters/one.txt")));
+        assertFalse(BatchUploadService.isDocumentEntry(new ZipEntry("chapters/")));
+        assertFalse(BatchUploadService.isDocumentEntry(new ZipEntry("__MACOSX/._notes.txt")));
+        assertFalse(BatchUploadService.isDocumentEntry(new ZipEntry(".DS_Store")));
+        assertFalse(BatchUploadService.isDocumentEntry(new ZipEntry("chapters/.hidden")));
+    }
+
+    @Test
+    void importsEachDocumentOfAnArchiveByItsPath() throws IOException {
+        MultipartFile archive = zip("texts.zip",
+                "one.txt", prose("first", 50),
+                "__MACOSX/._one.txt", "resource fork",
+                "chapters/", "",
+                "chapters/two.txt", prose("second", 50));
+
+        List<BatchItemResult> results = batchUploadService.importBatch(List.of(archive), register("zip"));
+
+        assertEquals(List.of("texts.zip/one.txt", "texts.zip/chapters/two.txt"),
+                results.stream().map(BatchItemResult::fileName).toList());
+        results.forEach(result -> assertEquals(BatchItemResult.Status.CREATED, result.status(), result.fileName()));
+        assertEquals(List.of("one", "two"), results.stream().map(result -> jdbcTemplate.queryForObject(
+                "select title from text where id = ?", String.class, result.textId())).toList());
+    }
+
+    @Test
+    void archiveIsCutShortAtTheBatchSizeLimit() throws IOException {
+        // Identical entries share stored content, so only the first is extracted
+        String chapter = prose("limit", 15_000);
+        String[] entries = new String[2 * 80];
+        for (int i = 0; i < 80; i++) {
+            entries[2 * i] = "chapter-" + i + ".txt";
+            entries[2 * i + 1] = chapter;
+        }
+
+        List<BatchItemResult> results = batchUploadService.importBatch(List.of(zip("long.zip", entries)), register("limit"));
+
+        BatchItemResult last = results.get(results.size() - 1);
+        assertTrue(results.size() < 80);
+        assertEquals(BatchItemResult.Status.FAILED, last.status());
+        assertTrue(last.error().startsWith("Batch is limited to 40MB"), last.error());
+        results.subList(0, results.size() - 1)
+                .forEach(result -> assertEquals(BatchItemResult.Status.CREATED, result.status(), result.fileName()));
+    }
+
+    @Test
+    void oversizedEntryFailsAndSkipsTheRestOfTheArchive() throws IOException {
+        MultipartFile archive = zip("big.zip",
+                "small.txt", prose("small", 50),
+                "huge.txt", prose("huge", 200_000),
+                "after.txt", prose("after", 50));
+
+        List<BatchItemResult> results = batchUploadService.importBatch(List.of(archive), register("oversized"));
+
+        assertEquals(2, results.size());
+        assertEquals(BatchItemResult.Status.CREATED, results.get(0).status());
+        assertEquals("big.zip/huge.txt", results.get(1).fileName());
+        assertEquals(BatchItemResult.Status.FAILED, results.get(1).status());
+    }
+
+    @Test
+    void abandonedBatchReleasesContentOfRunningExtractions() throws Exception {
+        String username = register("abandoned");
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String content = prose("abandoned-" + i + "-" + System.nanoTime(), 12_000);
+            files.add(new MockMultipartFile("files", "doc-" + i + ".txt", "text/plain",
+                    content.getBytes(StandardCharsets.UTF_8)));
+        }
+        long blobsBefore = countBlobs();
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread request = new Thread(() -> {
+            try {
+                batchUploadService.importBatch(files, username);
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+        request.start();
+        awaitActiveExtractions(true);
+        // The request goes away while one document is being extracted and the next is queued
+        request.interrupt();
+        request.join(30_000);
+        awaitActiveExtractions(false);
+
+        assertInstanceOf(IOException.class, failure.get());
+        assertEquals(blobsBefore, countBlobs(), "abandoned extractions kept content references");
+    }
+
+    private void awaitActiveExtractions(boolean active) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while ((meterRegistry.get("dyslexia.ingestion.batch.active").gauge().value() > 0) != active) {
+            assertTrue(deadline - System.nanoTime() > 0, "extraction pool did not become " + (active ? "busy" : "idle"));
+            Thread.sleep(5);
+        }
+    }
+
+    private long countBlobs() {
+        return jdbcTemplate.queryForObject("select count(*) from content_blob", Long.class);
+    }
+
+    private String register(String prefix) {
+        User user = new User();
+        user.setUsername(prefix + "-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("unused");
+        return userRepository.save(user).getUsername();
+    }
+
+    // Distinct prose per seed, so documents never share stored content
+    private static String prose(String seed, int sentences) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            text.append("Sentence ").append(i).append(" of ").append(seed).append(" reads quietly. ");
+        }
+        return text.toString();
+    }
+
+    // Alternating entry names and contents; names ending in / are directories
+    private static MultipartFile zip(String name, String... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new MockMultipartFile("files", name, "application/zip", bytes.toByteArray());
+    }
+}
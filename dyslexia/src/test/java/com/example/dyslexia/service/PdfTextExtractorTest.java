@@ -0,0 +1,68 @@
+package com.example.dyslexia.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfTextExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parallelExtractionMatchesSequentialPass() throws IOException {
+        Path pdf = writePdf(tempDir.resolve("long.pdf"), 137);
+        // Small ranges and an uneven page count exercise range boundaries and the last partial range
+        try (PdfTextExtractor extractor = new PdfTextExtractor(4, 5, 10)) {
+            StringWriter parallel = new StringWriter();
+            extractor.extract(pdf, parallel);
+
+            String sequential = extractor.extractSequential(pdf);
+            assertTrue(sequential.contains("page 137 line 30"));
+            assertEquals(sequential, parallel.toString());
+        }
+    }
+
+    @Test
+    void shortDocumentsAreExtractedInOnePass() throws IOException {
+        Path pdf = writePdf(tempDir.resolve("short.pdf"), 3);
+        try (PdfTextExtractor extractor = new PdfTextExtractor(4, 5, 10)) {
+            StringWriter output = new StringWriter();
+            extractor.extract(pdf, output);
+
+            assertEquals(extractor.extractSequential(pdf), output.toString());
+        }
+    }
+
+    private static Path writePdf(Path file, int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int page = 1; page <= pages; page++) {
+                PDPage pdPage = new PDPage();
+                document.addPage(pdPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 11);
+                    content.setLeading(15);
+                    content.newLineAtOffset(50, 740);
+                    for (int line = 1; line <= 30; line++) {
+                        content.showText("page " + page + " line " + line + " reading is easier with space");
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+}
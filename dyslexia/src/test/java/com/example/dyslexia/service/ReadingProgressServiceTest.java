@@ -0,0 +1,130 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.ProgressUpdate;
+import com.example.dyslexia.model.ReadingPosition;
+import com.example.dyslexia.model.Text;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The flusher is left idle (flush interval of an hour); tests flush by hand
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reading-progress;DB_CLOSE_DELAY=-1",
+        "dyslexia.extraction.warm-up=false",
+        "dyslexia.progress.flush-interval=PT1H"
+})
+class ReadingProgressServiceTest {
+
+    @Autowired
+    private ReadingProgressService progressService;
+
+    @Autowired
+    private TextService textService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void pingsAreCoalescedIntoOneWritePerFlush() throws IOException {
+        String username = "coalesce-" + System.nanoTime();
+        Text text = storeText(username);
+        Instant start = Instant.now().minusSeconds(60);
+        double flushedBefore = meterRegistry.counter("dyslexia.progress.flushed").count();
+
+        for (int word = 10; word <= 50; word += 10) {
+            progressService.update(username, text.getId(), ping(word, start.plusSeconds(word)));
+        }
+        // Older than the last ping, as from a second device that was offline
+        ReadingPosition current = progressService.update(username, text.getId(), ping(5, start)).orElseThrow();
+        progressService.flush();
+
+        assertEquals(50, current.wordIndex());
+        assertEquals(1, meterRegistry.counter("dyslexia.progress.flushed").count() - flushedBefore);
+        assertEquals(50, storedWordIndex(username, text.getId()));
+        assertEquals(50, progressService.getPositions(username).get(0).wordIndex());
+    }
+
+    @Test
+    void deletedTextLosesItsProgress() throws IOException {
+        String username = "forget-" + System.nanoTime();
+        Text text = storeText(username);
+        progressService.update(username, text.getId(), ping(7, Instant.now()));
+
+        assertTrue(textService.deleteText(text.getId()));
+        progressService.flush();
+
+        assertEquals(0, countRows(username, text.getId()));
+        assertTrue(progressService.getPositions(username).isEmpty());
+        assertTrue(progressService.update(username, text.getId(), ping(8, Instant.now())).isEmpty());
+    }
+
+    @Test
+    void flushAfterADeleteDoesNotWriteProgress() throws IOException {
+        String username = "race-" + System.nanoTime();
+        Text text = storeText(username);
+        progressService.update(username, text.getId(), ping(3, Instant.now()));
+        // Tombstoned, but the position is still in memory: a flush that read it before forgetText ran
+        jdbcTemplate.update("update text set deleted_at = ? where id = ?",
+                Instant.now().atOffset(ZoneOffset.UTC), text.getId());
+
+        progressService.flush();
+
+        assertEquals(0, countRows(username, text.getId()));
+    }
+
+    @Test
+    void progressOnlyInOwnTexts() throws IOException {
+        Text text = storeText("owner-" + System.nanoTime());
+
+        assertTrue(progressService.update("intruder-" + System.nanoTime(), text.getId(), ping(1, Instant.now())).isEmpty());
+    }
+
+    @Test
+    void lookupsInOtherTextsAreNotCached() throws IOException {
+        Text text = storeText("owner-" + System.nanoTime());
+        String intruder = "intruder-" + System.nanoTime();
+        double cached = meterRegistry.get("dyslexia.progress.cached").gauge().value();
+
+        assertTrue(progressService.getPosition(intruder, text.getId()).isEmpty());
+        assertTrue(progressService.getPosition(intruder, Long.MAX_VALUE).isEmpty());
+        assertEquals(cached, meterRegistry.get("dyslexia.progress.cached").gauge().value());
+    }
+
+    private Text storeText(String username) throws IOException {
+        Path document = Files.writeString(workDir.resolve(username + ".txt"),
+                "Progress is kept for this text of " + username + ". It has two sentences.");
+        return textService.saveText(document, username + ".txt", username);
+    }
+
+    private static ProgressUpdate ping(int wordIndex, Instant clientTime) {
+        return new ProgressUpdate(wordIndex, "read", null, "session", clientTime);
+    }
+
+    private int storedWordIndex(String username, Long textId) {
+        return jdbcTemplate.queryForObject("select word_index from reading_progress where username = ? and text_id = ?",
+                Integer.class, username, textId);
+    }
+
+    private long countRows(String username, Long textId) {
+        return jdbcTemplate.queryForObject("select count(*) from reading_progress where username = ? and text_id = ?",
+                Long.class, username, textId);
+    }
+}
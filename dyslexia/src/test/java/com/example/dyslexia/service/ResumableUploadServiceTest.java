@@ -0,0 +1,78 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.UploadSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:resumable-upload;DB_CLOSE_DELAY=-1",
+        "dyslexia.extraction.warm-up=false",
+        "dyslexia.upload.max-sessions-per-user=4"
+})
+class ResumableUploadServiceTest {
+
+    private static final int CREATES = 16;
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @Test
+    void concurrentCreatesStopAtTheSessionLimit() throws Exception {
+        String username = "resumable-" + System.nanoTime();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(CREATES);
+        List<UploadSession> created = new ArrayList<>();
+        try {
+            List<Future<UploadSession>> results = new ArrayList<>();
+            Callable<UploadSession> create = () -> {
+                start.await();
+                return resumableUploadService.create(username, "book.txt", 1024);
+            };
+            for (int i = 0; i < CREATES; i++) {
+                results.add(threads.submit(create));
+            }
+            start.countDown();
+
+            int rejected = 0;
+            for (Future<UploadSession> result : results) {
+                try {
+                    created.add(result.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertInstanceOf(RejectedExecutionException.class, e.getCause());
+                    rejected++;
+                }
+            }
+
+            assertEquals(4, created.size());
+            assertEquals(CREATES - 4, rejected);
+        } finally {
+            threads.shutdownNow();
+        }
+
+        // Cancelling frees a slot for the next upload
+        assertTrue(resumableUploadService.cancel(username, created.remove(0).getId()));
+        created.add(resumableUploadService.create(username, "book.txt", 1024));
+        assertThrows(RejectedExecutionException.class, () -> resumableUploadService.create(username, "book.txt", 1024));
+
+        for (UploadSession session : created) {
+            resumableUploadService.cancel(username, session.getId());
+        }
+    }
+}
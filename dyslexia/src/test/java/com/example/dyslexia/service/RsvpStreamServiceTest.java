@@ -0,0 +1,69 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.User;
+import com.example.dyslexia.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rsvp-stream;DB_CLOSE_DELAY=-1",
+        "dyslexia.extraction.warm-up=false"
+})
+class RsvpStreamServiceTest {
+
+    @Autowired
+    private RsvpStreamService rsvpStreamService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void legacyTextIsConvertedAndStreamed() {
+        Long textId = insertLegacyText("A text stored before chunking. It still plays word by word.");
+
+        assertTrue(rsvpStreamService.stream(textId, 0, 2, 300).isPresent());
+        assertNotNull(jdbcTemplate.queryForObject("select blob_id from text where id = ?", Long.class, textId));
+    }
+
+    @Test
+    void missingTextHasNoStream() {
+        assertTrue(rsvpStreamService.stream(Long.MAX_VALUE, 0, 2, 300).isEmpty());
+    }
+
+    // A text in the single-column form that predates chunked storage
+    private Long insertLegacyText(String content) {
+        User user = new User();
+        user.setUsername("rsvp-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPassword("unused");
+        Long userId = userRepository.save(user).getId();
+
+        KeyHolder key = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "insert into text (title, created_at, content, user_id) values (?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, "Legacy");
+            statement.setObject(2, Instant.now().atOffset(ZoneOffset.UTC));
+            statement.setString(3, content);
+            statement.setLong(4, userId);
+            return statement;
+        }, key);
+        return key.getKey().longValue();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.dyslexia.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compaction needs a file database; the scheduled runs are kept out of the way (check interval of an hour)
+@SpringBootTest(properties = {
+        "dyslexia.extraction.warm-up=false",
+        "dyslexia.maintenance.check-interval=PT1H"
+})
+class StorageMaintenanceCompactionTest {
+
+    private static final int ROWS = 64;
+    private static final int ROW_BYTES = 256 * 1024;
+
+    @TempDir
+    static Path workDir;
+
+    @Autowired
+    private StorageMaintenance storageMaintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + workDir.resolve("db").toAbsolutePath());
+    }
+
+    @Test
+    void compactionShrinksTheFileAndTheDatabaseReopens() throws IOException, SQLException {
+        // Incompressible rows, so the space they leave behind is real
+        jdbcTemplate.execute("create table scratch (id int primary key, data blob)");
+        Random random = new Random(42);
+        for (int i = 0; i < ROWS; i++) {
+            byte[] data = new byte[ROW_BYTES];
+            random.nextBytes(data);
+            jdbcTemplate.update("insert into scratch (id, data) values (?, ?)", i, data);
+        }
+        jdbcTemplate.execute("drop table scratch");
+        jdbcTemplate.execute("checkpoint");
+        Path file = workDir.resolve("db.mv.db");
+        long before = Files.size(file);
+
+        storageMaintenance.compact(System.nanoTime() + TimeUnit.SECONDS.toNanos(30));
+
+        assertTrue(Files.size(file) < before - (long) ROWS * ROW_BYTES / 2,
+                "expected the dropped rows to be reclaimed, file is " + Files.size(file) + " bytes, was " + before);
+        // Pooled connections to the closed database were replaced; the next query reopens it
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from text where id = -1", Long.class));
+    }
+}
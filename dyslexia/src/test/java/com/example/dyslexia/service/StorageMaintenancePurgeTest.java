@@ -0,0 +1,60 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.Text;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The quiet period is never reached here, so every run is an overdue one (max-deferral zero):
+// the same situation as an API that receives progress pings around the clock
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:storage-maintenance;DB_CLOSE_DELAY=-1",
+        "dyslexia.extraction.warm-up=false",
+        "dyslexia.maintenance.check-interval=PT1H",
+        "dyslexia.maintenance.quiet-period=PT1H",
+        "dyslexia.maintenance.max-deferral=PT0S",
+        "dyslexia.maintenance.purge-after=PT0S"
+})
+class StorageMaintenancePurgeTest {
+
+    @Autowired
+    private StorageMaintenance storageMaintenance;
+
+    @Autowired
+    private TextService textService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void purgesDeletedTextsAndTheirContent() throws IOException {
+        Path document = Files.writeString(workDir.resolve("deleted.txt"),
+                "A text that is deleted and then purged by maintenance. " + System.nanoTime());
+        Text text = textService.saveText(document, "deleted.txt", "maintenance-" + System.nanoTime());
+        assertTrue(textService.deleteText(text.getId()));
+        assertEquals(1, countRows("select count(*) from text where id = ?", text.getId()),
+                "deleting only tombstones the text");
+
+        storageMaintenance.runIfQuiet();
+
+        assertEquals(0, countRows("select count(*) from text where id = ?", text.getId()));
+        assertEquals(0, countRows("select count(*) from content_blob where id = ?", text.getBlobId()));
+        assertEquals(0, countRows("select count(*) from text_chunk where blob_id = ?", text.getBlobId()));
+    }
+
+    private long countRows(String sql, Object id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.dyslexia.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StorageMaintenanceTest {
+
+    @Test
+    void locatesTheFileOfEmbeddedDatabases() {
+        assertEquals(Paths.get("./data/testdb.mv.db"), StorageMaintenance.h2DatabaseFile("jdbc:h2:file:./data/testdb"));
+        assertEquals(Paths.get("./data/testdb.mv.db"),
+                StorageMaintenance.h2DatabaseFile("jdbc:h2:./data/testdb;AUTO_SERVER=TRUE"));
+        assertEquals(Paths.get(System.getProperty("user.home") + "/db.mv.db"),
+                StorageMaintenance.h2DatabaseFile("jdbc:h2:~/db"));
+    }
+
+    @Test
+    void skipsDatabasesWithoutALocalFile() {
+        assertNull(StorageMaintenance.h2DatabaseFile("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1"));
+        assertNull(StorageMaintenance.h2DatabaseFile("jdbc:h2:tcp://localhost/~/db"));
+        assertNull(StorageMaintenance.h2DatabaseFile("jdbc:postgresql://localhost/dyslexia"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.dyslexia.service;
+
+import com.example.dyslexia.model.IngestionJob;
+import com.example.dyslexia.model.Text;
+import com.example.dyslexia.model.TextRendition;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs in its own surefire execution with a small -Xmx (see pom.xml). The document goes the
+// whole way an upload does: extraction, spilling buffer, chunking and storage in an H2 file
+// database, then rendering and reading back its compressed JSON body, so nothing on that path
+// may hold the full text in memory.
+@SpringBootTest(properties = {
+        "dyslexia.extraction.warm-up=false",
+        "dyslexia.storage.chunk-chars=16384",
+        // Small parts, so the highly compressible document still spans several of them
+        "dyslexia.renditions.part-size=16KB"
+})
+class StreamingExtractionLowMemoryTest {
+
+    private static final long DOCUMENT_BYTES = 256L * 1024 * 1024;
+
+    @TempDir
+    static Path workDir;
+
+    @Autowired
+    private TextService textService;
+
+    @Autowired
+    private IngestionService ingestionService;
+
+    @Autowired
+    private TextRenditionService textRenditionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // A file database, so stored chunks live on disk rather than in the heap
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + workDir.resolve("db").toAbsolutePath());
+        registry.add("dyslexia.ingestion.spool-dir", () -> workDir.resolve("spool").toString());
+    }
+
+    @BeforeAll
+    static void writeDocument() throws IOException {
+        assertTrue(Runtime.getRuntime().maxMemory() < DOCUMENT_BYTES,
+                "heap must be smaller than the synthetic document for this test to prove anything");
+        try (InputStream input = new SyntheticTextStream(DOCUMENT_BYTES)) {
+            Files.copy(input, workDir.resolve("large.txt"));
+        }
+    }
+
+    @Test
+    void storesDocumentLargerThanTheHeap() throws IOException {
+        Text saved = textService.saveText(workDir.resolve("large.txt"), "large.txt", "low-memory");
+
+        Map<String, Object> stored = jdbcTemplate.queryForMap(
+                "select count(*) as chunks, sum(word_count) as words from text_chunk where blob_id = ?",
+                saved.getBlobId());
+        long expectedWords = SyntheticTextStream.wordCount(DOCUMENT_BYTES);
+        assertEquals(expectedWords, saved.getWordCount().longValue(), "extracted text was truncated");
+        assertEquals(expectedWords, ((Number) stored.get("WORDS")).longValue());
+        assertTrue(((Number) stored.get("CHUNKS")).longValue() > DOCUMENT_BYTES / (16 * 1024) / 2,
+                "content was not stored in chunks");
+    }
+
+    @Test
+    void rendersAndServesDocumentLargerThanTheHeap() throws Exception {
+        // The job owns and deletes its spool file
+        Path spooled = Files.copy(workDir.resolve("large.txt"), workDir.resolve("spooled.txt"));
+        IngestionJob job = ingestionService.submitSpooled(spooled, "large.txt", "low-memory-rendition");
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(10);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(IngestionJob.Status.DONE, job.getStatus(), job.getError());
+
+        TextRendition rendition = textRenditionService.get(job.getTextId()).orElseThrow();
+        assertTrue(rendition.getIdentityLength() > DOCUMENT_BYTES);
+        assertTrue(jdbcTemplate.queryForObject("select count(*) from text_rendition_part where text_id = ?",
+                Long.class, job.getTextId()) > 0, "rendition was not stored in parts");
+
+        // Read back the way an identity response is written: inflated from the stored parts
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        long length = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream body = textRenditionService.identity(rendition)) {
+            for (int read; (read = body.read(buffer)) > 0; length += read) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        assertEquals(rendition.getIdentityLength().longValue(), length);
+        assertEquals(rendition.getContentHash(), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    // Plain ASCII prose generated on the fly, never held in memory
+    private static class SyntheticTextStream extends InputStream {
+
+        private static final byte[] LINE = "The quick brown fox jumps over the lazy dog near the quiet river bank.\n"
+                .getBytes(StandardCharsets.US_ASCII);
+
+        private final long size;
+        private long position;
+
+        SyntheticTextStream(long size) {
+            this.size = size;
+        }
+
+        // Whitespace-separated words in the first `size` bytes of the stream
+        static long wordCount(long size) {
+            long perLine = words(LINE.length);
+            return size / LINE.length * perLine + words((int) (size % LINE.length));
+        }
+
+        private static long words(int prefix) {
+            long words = 0;
+            boolean inWord = false;
+            for (int i = 0; i < prefix; i++) {
+                boolean whitespace = Character.isWhitespace(LINE[i]);
+                if (!whitespace && !inWord) {
+                    words++;
+                }
+                inWord = !whitespace;
+            }
+            return words;
+        }
+
+        @Override
+        public int read() {
+            if (position >= size) {
+                return -1;
+            }
+            return LINE[(int) (position++ % LINE.length)];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= size) {
+                return -1;
+            }
+            int count = (int) Math.min(len, size - position);
+            for (int i = 0; i < count; i++) {
+                b[off + i] = LINE[(int) (position++ % LINE.length)];
+            }
+            return count;
+        }
+    }
+}
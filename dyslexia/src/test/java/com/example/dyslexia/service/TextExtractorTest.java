@@ -0,0 +1,148 @@
+package com.example.dyslexia.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextExtractorTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 0x0d, 'I', 'H', 'D', 'R'};
+
+    private final PdfTextExtractor pdfExtractor = new PdfTextExtractor(1, 16, 32);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void closePdfExtractor() {
+        pdfExtractor.close();
+    }
+
+    @Test
+    void typesOffTheAllowListAreRejected() throws IOException {
+        TextExtractor extractor = new TextExtractor(new SimpleMeterRegistry(), pdfExtractor, Set.of("text/plain"), 2);
+        Path image = Files.write(tempDir.resolve("scan.png"), PNG);
+        Path pdf = Files.writeString(tempDir.resolve("book.pdf"), "%PDF-1.4\n");
+
+        UnsupportedDocumentTypeException rejected = assertThrows(UnsupportedDocumentTypeException.class,
+                () -> extractor.checkSupported(image));
+        assertTrue(rejected.getMessage().contains("image/png"), rejected.getMessage());
+        assertThrows(UnsupportedDocumentTypeException.class, () -> extractor.checkSupported(pdf));
+        assertThrows(UnsupportedDocumentTypeException.class, () -> extractor.extract(new ByteArrayInputStream(PNG)));
+        assertEquals(0, extractor.idleParserCount());
+    }
+
+    @Test
+    void sequentialExtractionsReuseOneParser() throws IOException {
+        TextExtractor extractor = new TextExtractor(new SimpleMeterRegistry(), pdfExtractor, Set.of("text/plain"), 2);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(extractor.extract(text("plain text " + i)).contains("plain text " + i));
+        }
+
+        assertEquals(1, extractor.idleParserCount());
+    }
+
+    @Test
+    void poolKeepsNoMoreIdleParsersThanItsSize() throws Exception {
+        int poolSize = 2;
+        int readers = 6;
+        TextExtractor extractor = new TextExtractor(new SimpleMeterRegistry(), pdfExtractor, Set.of("text/plain"), poolSize);
+        CountDownLatch parsing = new CountDownLatch(readers);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService threads = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                results.add(threads.submit(() -> extractor.extract(new GatedText(parsing, release))));
+            }
+            // Every parse holds a parser at once, so the pool had to hand out more than it keeps
+            assertTrue(parsing.await(30, TimeUnit.SECONDS));
+            assertEquals(0, extractor.idleParserCount());
+            release.countDown();
+            for (Future<String> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS).contains("reading is easier"));
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertEquals(poolSize, extractor.idleParserCount());
+    }
+
+    private static InputStream text(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Plain text that stops once past what type detection reads, until released. Reaching the
+    // gate means the parse has borrowed its parser.
+    private static final class GatedText extends InputStream {
+        private static final int GATE = 256 * 1024;
+
+        private final byte[] line = "reading is easier with space\n".getBytes(StandardCharsets.UTF_8);
+        private final CountDownLatch parsing;
+        private final CountDownLatch release;
+        private int position;
+
+        GatedText(CountDownLatch parsing, CountDownLatch release) {
+            this.parsing = parsing;
+            this.release = release;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == GATE) {
+                parsing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            if (position >= 2 * GATE) {
+                return -1;
+            }
+            return line[position++ % line.length];
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            int first = read();
+            if (first < 0) {
+                return -1;
+            }
+            buffer[offset] = (byte) first;
+            int count = 1;
+            // Stop short of the gate so that only the single-byte read above ever waits on it
+            while (count < length && position != GATE && position < 2 * GATE) {
+                buffer[offset + count++] = line[position++ % line.length];
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.dyslexia.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextSearchIndexTest {
+
+    @Test
+    void rebuildDoesNotBringBackATextDeletedWhileItRan() {
+        TextSearchIndex index = new TextSearchIndex();
+        index.startRebuild();
+        // Deleted after the rebuild read the text, before it indexed it
+        index.remove(1L);
+        index.put("reader", 1L, document("a deleted story"));
+        index.put("reader", 2L, document("a kept story"));
+        index.finishRebuild();
+
+        assertFalse(index.contains(1L));
+        assertTrue(index.contains(2L));
+        assertEquals(1, index.search("reader", "story", 10).size());
+    }
+
+    @Test
+    void replacingATextIsNotARemoval() {
+        TextSearchIndex index = new TextSearchIndex();
+        index.startRebuild();
+        index.put("reader", 1L, document("first version"));
+        index.put("reader", 1L, document("second version"));
+        index.finishRebuild();
+
+        assertTrue(index.contains(1L));
+        assertEquals(0, index.search("reader", "first", 10).size());
+        assertEquals(1, index.search("reader", "second", 10).size());
+    }
+
+    private static TextSearchIndex.Document document(String content) {
+        TextSearchIndex.Document document = new TextSearchIndex.Document();
+        document.addChunk(0, content);
+        return document;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.dyslexia.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-identity;DB_CLOSE_DELAY=-1",
+        "dyslexia.extraction.warm-up=false"
+})
+class UserIdentityServiceTest {
+
+    private static final int UPLOADS = 8;
+
+    @Autowired
+    private UserIdentityService userIdentityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentFirstUploadsShareOneNewAccount() throws Exception {
+        String username = "first-upload-" + System.nanoTime();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(UPLOADS);
+        try {
+            List<Future<Long>> ids = new ArrayList<>();
+            Callable<Long> upload = () -> {
+                start.await();
+                return userIdentityService.idForUsername(username);
+            };
+            for (int i = 0; i < UPLOADS; i++) {
+                ids.add(threads.submit(upload));
+            }
+            start.countDown();
+
+            Set<Long> distinct = ids.stream().map(id -> {
+                try {
+                    return id.get(30, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new AssertionError("idForUsername failed", e);
+                }
+            }).collect(Collectors.toSet());
+
+            assertEquals(1, distinct.size());
+            assertEquals(1, jdbcTemplate.queryForObject("select count(*) from app_user where username = ?",
+                    Long.class, username));
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.dyslexia.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WordAnnotationsTest {
+
+    @Test
+    void splitsCommonWordPatterns() {
+        assertEquals("hap-pen", hyphenate("happen"));
+        assertEquals("ma-chine", hyphenate("machine"));
+        assertEquals("ham-ster", hyphenate("hamster"));
+        assertEquals("ta-ble", hyphenate("table"));
+        assertEquals("make", hyphenate("make"));
+        assertEquals("jumped", hyphenate("jumped"));
+        assertEquals("wan-ted", hyphenate("wanted"));
+        assertEquals("\"beau-ti-ful,\"", hyphenate("\"beautiful,\""));
+        assertEquals(2, Syllables.count("well-known"));
+        assertEquals(1, Syllables.count("2024"));
+    }
+
+    @Test
+    void packedAnnotationsDecodeToTheSameValues() {
+        String content = "Understanding dyslexia: 12 bold words, and a debate. Done!";
+        WordTokens tokens = WordTokens.tokenize(content);
+        WordAnnotations annotated = WordAnnotations.annotate(content, tokens);
+
+        WordAnnotations decoded = WordAnnotations.decode(annotated.packSyllables(), annotated.flags());
+
+        assertEquals(tokens.size(), decoded.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            assertArrayEquals(annotated.breaks(i), decoded.breaks(i), tokens.word(content, i));
+            assertEquals(annotated.flags(i), decoded.flags(i), tokens.word(content, i));
+        }
+        assertEquals(WordAnnotations.POLYSYLLABIC | WordAnnotations.LONG, decoded.flags(0));
+        assertEquals(WordAnnotations.NUMERIC, decoded.flags(2));
+        assertEquals(WordAnnotations.MIRROR_LETTERS, decoded.flags(3) & WordAnnotations.MIRROR_LETTERS);
+        assertEquals(WordAnnotations.SENTENCE_END, decoded.flags(tokens.size() - 1));
+    }
+
+    @Test
+    void totalsCountSentencesAndSyllables() {
+        String content = "The cat sat. It was a beautiful day";
+        WordAnnotations.Totals totals = new WordAnnotations.Totals();
+        totals.add(WordAnnotations.annotate(content, WordTokens.tokenize(content)));
+
+        assertEquals(8, totals.words());
+        assertEquals(2, totals.sentences());
+        assertEquals(10, totals.syllables());
+        assertEquals(1, totals.polysyllables());
+    }
+
+    @Test
+    void sentenceEndsBeforeClosingQuotesAndBrackets() {
+        String content = "She said \"stop.\" He stopped (as told.) \u201CWhy?\u201D Then silence";
+        WordAnnotations annotated = WordAnnotations.annotate(content, WordTokens.tokenize(content));
+        WordAnnotations.Totals totals = new WordAnnotations.Totals();
+        totals.add(annotated);
+
+        assertEquals(WordAnnotations.SENTENCE_END, annotated.flags(2) & WordAnnotations.SENTENCE_END);
+        assertEquals(WordAnnotations.SENTENCE_END, annotated.flags(6) & WordAnnotations.SENTENCE_END);
+        assertEquals(WordAnnotations.SENTENCE_END, annotated.flags(7) & WordAnnotations.SENTENCE_END);
+        assertEquals(4, totals.sentences());
+    }
+
+    @Test
+    void breaksDoNotDependOnTheDefaultLocale() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            // Lower-cased with Turkish rules, I becomes a dotless i that is not a vowel
+            assertEquals("TI-TLE", hyphenate("TITLE"));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    private static String hyphenate(String word) {
+        StringBuilder hyphenated = new StringBuilder(word);
+        int[] breaks = Syllables.breaks(word);
+        for (int i = breaks.length - 1; i >= 0; i--) {
+            hyphenated.insert(breaks[i], '-');
+        }
+        return hyphenated.toString();
+    }
+}
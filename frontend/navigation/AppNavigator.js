@@ -29,6 +29,11 @@ export default function AppNavigator() {
     // Logout handler
     const handleLogout = async () => {
         await AsyncStorage.removeItem('token'); // Clear token
+        // Drop the cached preferences so the next user on this device never revalidates them
+        const username = await AsyncStorage.getItem('username');
+        if (username) {
+            await AsyncStorage.multiRemove([`preferences:${username}`, `preferencesEtag:${username}`]);
+        }
         setIsAuthenticated(false); // Update state
     };
 
@@ -2,12 +2,17 @@ import React, { useState, useEffect, useCallback } from 'react';
 import { View, Text, Button, FlatList, TouchableOpacity } from 'react-native';
 import AsyncStorage from '@react-native-async-storage/async-storage';
 import { useNavigation, useFocusEffect } from '@react-navigation/native';
-import axios from 'axios';
+import { syncLibrary } from '../utils/librarySync';
+
+// Rows added to the list each time the reader scrolls near its end
+const PAGE_SIZE = 50;
 
 export default function HomeScreen() {
     const navigation = useNavigation();
     const [username, setUsername] = useState('');
     const [savedTexts, setSavedTexts] = useState([]);
+    const [visibleCount, setVisibleCount] = useState(PAGE_SIZE);
+    const [loading, setLoading] = useState(false);
     const [errorMessage, setErrorMessage] = useState('');
 
     useFocusEffect(
@@ -23,18 +28,22 @@ export default function HomeScreen() {
         }, [])
     );
 
+    // A library loaded from scratch is shown page by page as the sync follows nextCursor
     const fetchSavedTexts = async (username) => {
+        setLoading(true);
         try {
-            const token = await AsyncStorage.getItem('token');
-            const response = await axios.get(`http://localhost:8080/api/texts/user/${username}`, {
-                headers: {
-                    Authorization: `Bearer ${token}`,
-                },
-            });
-            setSavedTexts(response.data);
+            setSavedTexts(await syncLibrary(username, setSavedTexts));
         } catch (error) {
             console.error('Error fetching saved texts:', error);
             setErrorMessage('Failed to load saved texts.');
+        } finally {
+            setLoading(false);
+        }
+    };
+
+    const loadMore = () => {
+        if (visibleCount < savedTexts.length) {
+            setVisibleCount(visibleCount + PAGE_SIZE);
         }
     };
 
@@ -46,14 +55,20 @@ export default function HomeScreen() {
 
             <Text style={{ fontSize: 18, marginTop: 20 }}>Your Saved Texts:</Text>
             <FlatList
-                data={savedTexts}
+                data={savedTexts.slice(0, visibleCount)}
                 keyExtractor={(item) => item.id.toString()}
+                onEndReached={loadMore}
+                onEndReachedThreshold={0.5}
+                ListFooterComponent={loading && visibleCount >= savedTexts.length
+                    ? <Text style={{ padding: 10, color: '#666' }}>Loading more texts...</Text>
+                    : null}
                 renderItem={({ item }) => (
                     <TouchableOpacity 
                         onPress={() => navigation.navigate('TextDetail', { textId: item.id })}
                         style={{ padding: 10, borderBottomWidth: 1, borderColor: '#ccc' }}
                     >
-                        <Text numberOfLines={2} style={{ fontSize: 16 }}>{item.content}</Text>
+                        <Text style={{ fontSize: 16, fontWeight: 'bold' }}>{item.title}</Text>
+                        <Text numberOfLines={2} style={{ fontSize: 14 }}>{item.preview}</Text>
                     </TouchableOpacity>
                 )}
             />
@@ -14,6 +14,7 @@ import TextChangeModal from '../components/TextChangeModal';
 
 const ReadingScreen = ({ username }) => {
     const [text, setText] = useState('');
+    const [textId, setTextId] = useState(null);
     const [fontSize, setFontSize] = useState(16);
     const [lineSpacing, setLineSpacing] = useState(1.5);
     const [backgroundColor, setBackgroundColor] = useState('white');
@@ -49,12 +50,28 @@ const ReadingScreen = ({ username }) => {
             if (!token || !username) return;
     
             try {
-                // Fetch preferences
+                // Fetch preferences, revalidating this user's copy from the last visit with its ETag
+                const cachedEtag = await AsyncStorage.getItem(`preferencesEtag:${username}`);
+                const cachedPreferences = await AsyncStorage.getItem(`preferences:${username}`);
+                const preferencesHeaders = { Authorization: `Bearer ${token}` };
+                if (cachedEtag && cachedPreferences) {
+                    preferencesHeaders['If-None-Match'] = cachedEtag;
+                }
                 const preferencesResponse = await axios.get(`http://localhost:8080/api/preferences/${username}`, {
-                    headers: { Authorization: `Bearer ${token}` },
+                    headers: preferencesHeaders,
+                    validateStatus: (status) => (status >= 200 && status < 300) || status === 304,
                 });
-    
-                const preferencesData = preferencesResponse.data;
+
+                let preferencesData;
+                if (preferencesResponse.status === 304) {
+                    preferencesData = JSON.parse(cachedPreferences);
+                } else {
+                    preferencesData = preferencesResponse.data;
+                    if (preferencesResponse.headers.etag) {
+                        await AsyncStorage.setItem(`preferencesEtag:${username}`, preferencesResponse.headers.etag);
+                        await AsyncStorage.setItem(`preferences:${username}`, JSON.stringify(preferencesData));
+                    }
+                }
                 setFont(preferencesData.font || 'sans-serif');
                 setFontSize(preferencesData.textSize || 16);
                 setLineSpacing(preferencesData.lineSpacing || 1.5);
@@ -67,6 +84,7 @@ const ReadingScreen = ({ username }) => {
     
                 const textData = textResponse.data;
                 setText(textData.content || ''); 
+                setTextId(textData.id);
     
             } catch (error) {
                 console.error("Error loading preferences or text:", error);
@@ -144,6 +162,7 @@ const ReadingScreen = ({ username }) => {
             {isSpeedReadingMode ? (
                 <SpeedReadingScreen 
                     text={text} 
+                    textId={textId}
                     onExit={() => setIsSpeedReadingMode(false)}
                     backgroundColor={backgroundColor}
                     fontSize={fontSize}
@@ -3,8 +3,9 @@ import { View, Text, TouchableOpacity, StyleSheet, Animated, SafeAreaView, Platf
 import Slider from '@react-native-community/slider';
 import BaseModal from '../components/BaseModal';
 import { StatusBar } from 'react-native';
+import { fetchProgress, reportProgress, newReadingSession, PROGRESS_REPORT_INTERVAL_MS } from '../utils/readingProgress';
 
-const SpeedReadingScreen = ({ text, onExit, backgroundColor = 'white', fontSize = 16, lineSpacing = 1.5, font = 'sans-serif' }) => {
+const SpeedReadingScreen = ({ text, textId, onExit, backgroundColor = 'white', fontSize = 16, lineSpacing = 1.5, font = 'sans-serif' }) => {
     
 
     const [words, setWords] = useState([]);
@@ -22,6 +23,10 @@ const SpeedReadingScreen = ({ text, onExit, backgroundColor = 'white', fontSize
     const controlsOpacity = useRef(new Animated.Value(1)).current;
     const wordScale = useRef(new Animated.Value(1)).current;
 
+    // Progress reporting
+    const sessionId = useRef(newReadingSession()).current;
+    const lastReportRef = useRef(0);
+
     
     useEffect(() => {
         
@@ -29,6 +34,27 @@ const SpeedReadingScreen = ({ text, onExit, backgroundColor = 'white', fontSize
         setWords(cleanedText.split(' '));
     }, [text]);
 
+    // Resume where the user left off
+    useEffect(() => {
+        if (!textId) return;
+        fetchProgress(textId)
+            .then((position) => {
+                if (position && position.wordIndex > 0) {
+                    setCurrentWordIndex(position.wordIndex);
+                }
+            })
+            .catch((error) => console.warn("Could not load reading progress:", error.message));
+    }, [textId]);
+
+    // Report the position while playing, at most once per interval, and whenever playback stops
+    useEffect(() => {
+        if (!textId) return;
+        const now = Date.now();
+        if (isPlaying && now - lastReportRef.current < PROGRESS_REPORT_INTERVAL_MS) return;
+        lastReportRef.current = now;
+        reportProgress(textId, { wordIndex: currentWordIndex, mode: 'rsvp', wpm: readingSpeed, sessionId });
+    }, [currentWordIndex, isPlaying]);
+
     useEffect(() => {
        
         const handleMouseMove = () => {
@@ -3,6 +3,23 @@ import axios from 'axios';
 import AsyncStorage from '@react-native-async-storage/async-storage';
 import { Platform } from 'react-native';
 
+const POLL_INTERVAL_MS = 1000;
+
+const waitForIngestion = async (jobId, token) => {
+    for (;;) {
+        const { data: job } = await axios.get(`http://localhost:8080/api/texts/jobs/${jobId}`, {
+            headers: { Authorization: `Bearer ${token}` },
+        });
+        if (job.status === 'DONE') {
+            return job.textId;
+        }
+        if (job.status === 'FAILED') {
+            throw new Error(job.error || 'Text extraction failed.');
+        }
+        await new Promise((resolve) => setTimeout(resolve, POLL_INTERVAL_MS));
+    }
+};
+
 const uploadDocumentAndExtractText = async () => {
     try {
         // Pick a document
@@ -56,11 +73,149 @@ const uploadDocumentAndExtractText = async () => {
             },
         });
 
-        return response.data.extractedText || "No text extracted.";
+        // Upload is processed in the background; poll the job until the text is stored
+        const textId = await waitForIngestion(response.data.id, token);
+        const textResponse = await axios.get(`http://localhost:8080/api/texts/${textId}`, {
+            headers: { Authorization: `Bearer ${token}` },
+        });
+
+        return textResponse.data.content || "No text extracted.";
     } catch (error) {
         console.error("Error uploading document:", error);
         throw error; // Propagate error to caller
     }
 };
 
+// The server accepts at most 10MB per multipart request; leave room for the form overhead
+const MAX_BATCH_REQUEST_BYTES = 9 * 1024 * 1024;
+
+const postBatch = async (assets, username, token) => {
+    const formData = new FormData();
+    for (const { uri, name, mimeType } of assets) {
+        const file = Platform.OS === 'web'
+            ? await fetch(uri).then(res => res.blob())
+            : {
+                uri: uri.replace('file://', ''),
+                name,
+                type: mimeType,
+              };
+        formData.append('files', file, name);
+    }
+    formData.append('username', username);
+
+    const response = await axios.post('http://localhost:8080/api/texts/upload/batch', formData, {
+        headers: {
+            Authorization: `Bearer ${token}`,
+            'Content-Type': 'multipart/form-data',
+        },
+    });
+    return response.data;
+};
+
+// Pick several documents and/or ZIP archives and import them, in as many requests as the
+// server's request size limit needs. Resolves to one result per document, in order:
+// { fileName, status: 'CREATED' | 'FAILED', textId, error }.
+export const uploadDocumentBatch = async () => {
+    const result = await DocumentPicker.getDocumentAsync({
+        type: ['application/pdf', 'application/epub+zip', 'text/plain', 'application/zip'],
+        copyToCacheDirectory: false,
+        multiple: true,
+    });
+    if (result.canceled) {
+        return null;
+    }
+
+    const token = await AsyncStorage.getItem('token');
+    const username = await AsyncStorage.getItem('username');
+    if (!token || !username) {
+        console.error("Not logged in.");
+        return null;
+    }
+
+    const results = [];
+    let group = [];
+    let groupBytes = 0;
+    for (const asset of result.assets) {
+        const size = asset.size || 0;
+        if (group.length > 0 && groupBytes + size > MAX_BATCH_REQUEST_BYTES) {
+            results.push(...await postBatch(group, username, token));
+            group = [];
+            groupBytes = 0;
+        }
+        if (size > MAX_BATCH_REQUEST_BYTES) {
+            // Too large for any batch request; uploadLargeDocument takes it on its own
+            results.push({ fileName: asset.name, status: 'FAILED', textId: null,
+                error: 'Too large for a batch upload, upload it on its own.' });
+            continue;
+        }
+        group.push(asset);
+        groupBytes += size;
+    }
+    if (group.length > 0) {
+        results.push(...await postBatch(group, username, token));
+    }
+    return results;
+};
+
+const UPLOAD_CHUNK_BYTES = 4 * 1024 * 1024;
+const MAX_CHUNK_RETRIES = 5;
+
+// Pick one large document and send it in ranges through a resumable upload session. A range
+// that fails is retried from the offset the server reports, so a dropped connection costs at
+// most one chunk. Resolves to the new text's id.
+export const uploadLargeDocument = async (onProgress) => {
+    const result = await DocumentPicker.getDocumentAsync({
+        type: ['application/pdf', 'application/epub+zip', 'text/plain'],
+        copyToCacheDirectory: true,
+    });
+    if (result.canceled) {
+        return null;
+    }
+
+    const token = await AsyncStorage.getItem('token');
+    if (!token) {
+        console.error("No authentication token found.");
+        return null;
+    }
+    const headers = { Authorization: `Bearer ${token}` };
+
+    const { uri, name } = result.assets[0];
+    const blob = await fetch(uri).then(res => res.blob());
+    const { data: session } = await axios.post('http://localhost:8080/api/uploads', null, {
+        headers,
+        params: { fileName: name, length: blob.size },
+    });
+    const uploadUrl = `http://localhost:8080/api/uploads/${session.id}`;
+
+    let offset = session.offset;
+    let failures = 0;
+    while (offset < blob.size) {
+        const end = Math.min(offset + UPLOAD_CHUNK_BYTES, blob.size);
+        try {
+            const response = await axios.put(uploadUrl, blob.slice(offset, end), {
+                headers: {
+                    ...headers,
+                    'Content-Type': 'application/octet-stream',
+                    'Content-Range': `bytes ${offset}-${end - 1}/${blob.size}`,
+                },
+            });
+            offset = Number(response.headers['upload-offset']);
+            failures = 0;
+        } catch (error) {
+            if (++failures > MAX_CHUNK_RETRIES) {
+                throw error;
+            }
+            // Resume from whatever the server actually stored
+            const status = await axios.head(uploadUrl, { headers });
+            offset = Number(status.headers['upload-offset']);
+        }
+        if (onProgress) {
+            onProgress(offset / blob.size);
+        }
+    }
+
+    const { data: job } = await axios.post(`${uploadUrl}/complete`, null, { headers });
+    return waitForIngestion(job.id, token);
+};
+
 export default uploadDocumentAndExtractText;
\ No newline at end of file
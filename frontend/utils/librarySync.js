@@ -0,0 +1,69 @@
+import axios from 'axios';
+import AsyncStorage from '@react-native-async-storage/async-storage';
+
+// The library list and sync cursor are kept on the device, so a refresh only downloads what
+// changed since the last one (GET /api/sync) instead of the whole list.
+const storageKey = (username) => `library:${username}`;
+
+const byNewest = (a, b) => b.id - a.id;
+
+// Largest summary page the server serves
+const PAGE_SIZE = 200;
+
+// Every page of the summary list, following nextCursor until the last page; onPage sees the
+// texts loaded so far after each page, so a long library appears while it is still loading
+const fetchAll = async (username, headers, onPage) => {
+    const texts = [];
+    let cursor = null;
+    do {
+        const response = await axios.get(`http://localhost:8080/api/texts/user/${username}/summaries`, {
+            headers,
+            params: cursor ? { limit: PAGE_SIZE, cursor } : { limit: PAGE_SIZE },
+        });
+        texts.push(...response.data.items);
+        cursor = response.data.nextCursor;
+        if (cursor && onPage) {
+            onPage([...texts]);
+        }
+    } while (cursor);
+    return texts;
+};
+
+const fetchChanges = async (since, headers) => {
+    const response = await axios.get('http://localhost:8080/api/sync', {
+        headers,
+        params: since ? { since } : {},
+    });
+    return response.data;
+};
+
+// onPage (optional) receives partial lists while the library is loaded from scratch
+export const syncLibrary = async (username, onPage) => {
+    const token = await AsyncStorage.getItem('token');
+    const headers = { Authorization: `Bearer ${token}` };
+    const stored = JSON.parse((await AsyncStorage.getItem(storageKey(username))) || 'null');
+
+    let texts = stored ? stored.texts : [];
+    let cursor = stored ? stored.cursor : null;
+    for (;;) {
+        const changes = await fetchChanges(cursor, headers);
+        cursor = changes.cursor;
+        if (changes.reset) {
+            // Take the cursor before reloading, so nothing changed during the reload is missed
+            texts = await fetchAll(username, headers, onPage);
+            continue;
+        }
+        const changed = new Map(changes.texts.map((text) => [text.id, text]));
+        const deleted = new Set(changes.deletedTextIds);
+        texts = texts
+            .filter((text) => !changed.has(text.id) && !deleted.has(text.id))
+            .concat(changes.texts)
+            .sort(byNewest);
+        if (!changes.hasMore) {
+            break;
+        }
+    }
+
+    await AsyncStorage.setItem(storageKey(username), JSON.stringify({ cursor, texts }));
+    return texts;
+};
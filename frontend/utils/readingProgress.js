@@ -0,0 +1,40 @@
+import axios from 'axios';
+import AsyncStorage from '@react-native-async-storage/async-storage';
+
+// The server keeps positions in memory, so reporting every few seconds is cheap
+export const PROGRESS_REPORT_INTERVAL_MS = 5000;
+
+const authHeaders = async () => {
+    const token = await AsyncStorage.getItem('token');
+    return { Authorization: `Bearer ${token}` };
+};
+
+// One id per reading session; time between its reports counts as reading time
+export const newReadingSession = () =>
+    `${Date.now().toString(36)}-${Math.random().toString(36).slice(2, 10)}`;
+
+// Last known position in a text, or null if the user has not read it yet
+export const fetchProgress = async (textId) => {
+    try {
+        const { data } = await axios.get(`http://localhost:8080/api/progress/${textId}`, {
+            headers: await authHeaders(),
+        });
+        return data;
+    } catch (error) {
+        if (error.response && error.response.status === 404) {
+            return null;
+        }
+        throw error;
+    }
+};
+
+// Reports are best effort: a lost one is superseded by the next
+export const reportProgress = async (textId, { wordIndex, mode, wpm, sessionId }) => {
+    try {
+        await axios.put(`http://localhost:8080/api/progress/${textId}`,
+            { wordIndex, mode, wpm, sessionId, clientTime: new Date().toISOString() },
+            { headers: await authHeaders() });
+    } catch (error) {
+        console.warn("Could not report reading progress:", error.message);
+    }
+};